@@ -0,0 +1,89 @@
+package com.example.feedback.benchmark;
+
+import com.example.feedback.config.JwtTokenProvider;
+import com.example.feedback.config.PasswordHashingExecutor;
+import com.example.feedback.dto.CustomerDTO;
+import com.example.feedback.dto.LoginResponseDTO;
+import com.example.feedback.entity.Customer;
+import com.example.feedback.repository.CustomerEmailRepository;
+import com.example.feedback.repository.CustomerRepository;
+import com.example.feedback.service.impl.CustomerServiceImpl;
+import com.example.feedback.service.impl.RegisteredEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.feedback.benchmark.JwtFilterBenchmark.SECRET;
+
+/**
+ * Cost of issuing a token on its own and of a full login, which is dominated by the BCrypt password check
+ * (including the hand-off to the hashing pool).
+ * The repository is stubbed so that only CPU work is measured.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuthBenchmark {
+
+    private static final String PASSWORD = "securepassword";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private CustomerServiceImpl customerService;
+    private Customer customer;
+    private CustomerDTO credentials;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86_400_000L, 0, Duration.ZERO);
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+        customer = new Customer();
+        customer.setId(1L);
+        customer.setEmail("bench@example.com");
+        customer.setPassword(passwordEncoder.encode(PASSWORD));
+
+        CustomerRepository customerRepository = Mockito.mock(CustomerRepository.class);
+        Mockito.when(customerRepository.findByEmail(customer.getEmail())).thenReturn(Optional.of(customer));
+        passwordHashingExecutor = new PasswordHashingExecutor(
+                passwordEncoder, 0, 64, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        // Login never consults the filter; an empty table keeps the build cheap
+        RegisteredEmailFilter registeredEmailFilter = new RegisteredEmailFilter(
+                Mockito.mock(CustomerEmailRepository.class),
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                1_000, 0.01, 0.05, new SimpleMeterRegistry());
+        customerService = new CustomerServiceImpl(
+                customerRepository, passwordHashingExecutor, jwtTokenProvider, registeredEmailFilter);
+
+        credentials = new CustomerDTO();
+        credentials.setEmail(customer.getEmail());
+        credentials.setPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(customer);
+    }
+
+    @Benchmark
+    public LoginResponseDTO login() {
+        return customerService.login(credentials);
+    }
+}
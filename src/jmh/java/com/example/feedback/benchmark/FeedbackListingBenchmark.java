@@ -0,0 +1,100 @@
+package com.example.feedback.benchmark;
+
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.entity.Customer;
+import com.example.feedback.entity.Establishment;
+import com.example.feedback.entity.Feedback;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of producing a feedback listing once the rows are in memory: building the response DTOs, either
+ * from loaded entities (the original mapping) or straight from projected columns (what the listing query now
+ * does), and serializing the resulting list with Jackson.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FeedbackListingBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<Feedback> entities;
+    private List<Object[]> rows;
+    private List<FeedbackResponseDTO> responses;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() {
+        Establishment establishment = new Establishment();
+        establishment.setId(1L);
+        establishment.setName("Benchmark Bistro");
+
+        entities = new ArrayList<>(size);
+        rows = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Customer customer = new Customer();
+            customer.setId((long) i);
+            customer.setEmail("customer" + i + "@example.com");
+
+            Feedback feedback = new Feedback();
+            feedback.setId((long) i);
+            feedback.setTitle("Title " + i);
+            feedback.setTextComment("A fairly typical comment about the visit, number " + i);
+            feedback.setScore(i % 11);
+            feedback.setCustomer(customer);
+            feedback.setEstablishment(establishment);
+            feedback.setCreateTime(now.minusMinutes(i));
+            entities.add(feedback);
+
+            rows.add(new Object[]{feedback.getId(), feedback.getTitle(), feedback.getTextComment(), feedback.getScore(),
+                    customer.getEmail(), establishment.getName(), feedback.getCreateTime()});
+        }
+
+        responses = mapProjectedRows();
+        listWriter = new ObjectMapper().findAndRegisterModules().writerFor(List.class);
+    }
+
+    @Benchmark
+    public List<FeedbackResponseDTO> mapEntities() {
+        List<FeedbackResponseDTO> result = new ArrayList<>(entities.size());
+        for (Feedback feedback : entities) {
+            result.add(FeedbackResponseDTO.builder()
+                    .id(feedback.getId())
+                    .title(feedback.getTitle())
+                    .textComment(feedback.getTextComment())
+                    .score(feedback.getScore())
+                    .customerEmail(feedback.getCustomer().getEmail())
+                    .establishmentName(feedback.getEstablishment().getName())
+                    .createTime(feedback.getCreateTime())
+                    .build());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<FeedbackResponseDTO> mapProjectedRows() {
+        List<FeedbackResponseDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new FeedbackResponseDTO((Long) row[0], (String) row[1], (String) row[2], (Integer) row[3],
+                    (String) row[4], (String) row[5], (LocalDateTime) row[6]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.feedback.benchmark;
+
+import com.example.feedback.config.JwtAuthenticationFilter;
+import com.example.feedback.config.JwtTokenProvider;
+import com.example.feedback.entity.Customer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request: the original per-request key decoding and parser building,
+ * the filter with a shared parser only, and the filter with the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtFilterBenchmark {
+
+    static final String SECRET = "XOQ3Xn63ZNwX865KLcGxb6oqkO/nGtniWzkQZb3nUWI4y4oa6d20hh14JByIk8iq3ZnAluXwGKxi6MFKvXyq8g==";
+
+    private String token;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider uncachedProvider = new JwtTokenProvider(SECRET, 86_400_000L, 0, Duration.ZERO);
+        JwtTokenProvider cachedProvider = new JwtTokenProvider(SECRET, 86_400_000L, 10_000, Duration.ofMinutes(5));
+
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setEmail("bench@example.com");
+        token = cachedProvider.generateToken(customer);
+
+        uncachedFilter = new JwtAuthenticationFilter(uncachedProvider, new SimpleMeterRegistry());
+        cachedFilter = new JwtAuthenticationFilter(cachedProvider, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Baseline: what the filter did per request before the key and parser were shared.
+     */
+    @Benchmark
+    public Claims legacyRebuildPerRequest() {
+        byte[] keyBytes = Base64.getDecoder().decode(SECRET);
+        Key key = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS512.getJcaName());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterSharedParser() throws Exception {
+        return filter(uncachedFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterVerifiedTokenCache() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    private MockHttpServletResponse filter(JwtAuthenticationFilter filter) throws Exception {
+        // A fresh request each time: OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/feedback");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.feedback.benchmark;
+
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of a feedback listing as JSON, gzip-compressed JSON (what {@code server.compression} sends),
+ * CBOR and Smile with shared string values. Comments are near the 1000-character limit and every row repeats the
+ * establishment name, as in a real listing. Payload sizes of each format are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PayloadFormatBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private List<FeedbackResponseDTO> responses;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter cborWriter;
+    private ObjectWriter smileWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        String comment = "The pasta was excellent and the staff were attentive throughout the evening. ".repeat(12);
+        LocalDateTime now = LocalDateTime.now();
+        responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(FeedbackResponseDTO.builder()
+                    .id((long) i)
+                    .title("Title " + i)
+                    .textComment(comment.substring(i % 40))
+                    .score(i % 11)
+                    .customerEmail("customer" + i + "@example.com")
+                    .establishmentName("Benchmark Bistro")
+                    .createTime(now.minusMinutes(i))
+                    .build());
+        }
+
+        jsonWriter = new ObjectMapper().findAndRegisterModules().writerFor(List.class);
+        cborWriter = new CBORMapper().findAndRegisterModules().writerFor(List.class);
+        smileWriter = new SmileMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()).findAndRegisterModules().writerFor(List.class);
+
+        System.out.printf("%n%d rows: json=%d gzip=%d cbor=%d smile=%d bytes%n", size,
+                json().length, gzipJson().length, cbor().length, smile().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonWriter.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] gzipJson() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            jsonWriter.writeValue(gzip, responses);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cborWriter.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smileWriter.writeValueAsBytes(responses);
+    }
+}
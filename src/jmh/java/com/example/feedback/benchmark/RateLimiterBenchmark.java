@@ -0,0 +1,82 @@
+package com.example.feedback.benchmark;
+
+import com.example.feedback.config.JwtTokenProvider;
+import com.example.feedback.config.RateLimitProperties;
+import com.example.feedback.config.RateLimitProperties.KeyType;
+import com.example.feedback.config.RateLimitProperties.Rule;
+import com.example.feedback.config.RateLimiter;
+import com.example.feedback.entity.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.feedback.benchmark.JwtFilterBenchmark.SECRET;
+
+/**
+ * Per-request cost of the rate limiter's hot path: rule matching, key derivation and the bucket CAS.
+ * Limits are set high enough that requests are never rejected. Run with several threads
+ * ({@code -t 8}) to see contention on a shared client versus many distinct clients.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter rateLimiter;
+    private MockHttpServletRequest[] anonymousRequests;
+    private MockHttpServletRequest authenticatedRequest;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 86_400_000L, 10_000, Duration.ofMinutes(5));
+
+        Rule auth = rule("auth", "POST", "/api/v1/auth/**", KeyType.IP);
+        Rule api = rule("api", null, "/api/v1/**", KeyType.SUBJECT);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(auth, api));
+        rateLimiter = new RateLimiter(properties, jwtTokenProvider, new SimpleMeterRegistry());
+
+        anonymousRequests = new MockHttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            anonymousRequests[i] = new MockHttpServletRequest("GET", "/api/v1/feedback");
+            anonymousRequests[i].setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setEmail("bench@example.com");
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/v1/feedback");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + jwtTokenProvider.generateToken(customer));
+    }
+
+    @Benchmark
+    public long manyClientsByAddress() {
+        return rateLimiter.acquire(anonymousRequests[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    @Benchmark
+    public long sameClientBySubject() {
+        return rateLimiter.acquire(authenticatedRequest);
+    }
+
+    private static Rule rule(String name, String method, String path, KeyType key) {
+        Rule rule = new Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setKey(key);
+        rule.setLimit(1_000_000_000);
+        rule.setPeriod(Duration.ofSeconds(1));
+        return rule;
+    }
+}
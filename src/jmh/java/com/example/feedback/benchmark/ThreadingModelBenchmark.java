@@ -0,0 +1,90 @@
+package com.example.feedback.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of requests that each block on a pooled resource for a few milliseconds, the shape of
+ * a JDBC-bound request. Compares Tomcat's default of 200 platform threads with one virtual thread per request,
+ * both limited to the same number of "connections" as {@code BulkheadDataSource} limits them in the application.
+ * With few connections the pool is the bottleneck for both models; with more connections than platform threads,
+ * the thread pool becomes the bottleneck and only virtual threads scale.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class ThreadingModelBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final long QUERY_MILLIS = 2;
+
+    @Param({"1000", "10000"})
+    private int requests;
+
+    @Param({"20", "1000"})
+    private int connectionLimit;
+
+    private ExecutorService platformThreads;
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() {
+        platformThreads = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        connections = new Semaphore(connectionLimit, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        platformThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public int platformThreads() throws Exception {
+        return serve(platformThreads);
+    }
+
+    @Benchmark
+    public int virtualThreads() throws Exception {
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            return serve(virtualThreads);
+        }
+    }
+
+    private int serve(ExecutorService executor) throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            responses.add(executor.submit(() -> handle(request)));
+        }
+        int served = 0;
+        for (Future<Integer> response : responses) {
+            served += response.get() >= 0 ? 1 : 0;
+        }
+        return served;
+    }
+
+    private int handle(int request) throws InterruptedException {
+        connections.acquire();
+        try {
+            Thread.sleep(QUERY_MILLIS);
+        } finally {
+            connections.release();
+        }
+        // Some CPU work after the query, e.g. mapping and serialization
+        int hash = request;
+        for (int i = 0; i < 1_000; i++) {
+            hash = 31 * hash + i;
+        }
+        return hash & Integer.MAX_VALUE;
+    }
+}
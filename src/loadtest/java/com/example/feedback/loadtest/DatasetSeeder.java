@@ -0,0 +1,84 @@
+package com.example.feedback.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Generates the load test dataset inside the database with {@code generate_series}, so millions of rows are
+ * written without a round trip per row.
+ * <p>
+ * Customer {@code n} is {@code seed-n@example.com}. Its first review is on hot establishment {@code n % hot};
+ * the rest are on consecutive regular establishments starting at {@code n + 1}, which keeps every
+ * (customer, establishment) pair unique and leaves each customer plenty of establishments still to review.
+ */
+@Slf4j
+class DatasetSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LoadTestConfig config;
+
+    DatasetSeeder(NamedParameterJdbcTemplate jdbcTemplate, LoadTestConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+
+    /**
+     * Seeds establishments, customers, feedback and the rating aggregate.
+     *
+     * @param passwordHash BCrypt hash of {@link #PASSWORD}, shared by every seeded customer.
+     * @return Establishment ids, indexed by establishment number.
+     */
+    List<Long> seed(String passwordHash) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("establishments", config.establishments())
+                .addValue("hot", config.hotEstablishments())
+                .addValue("customers", config.customers())
+                .addValue("reviews", config.reviewsPerCustomer())
+                .addValue("passwordHash", passwordHash);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO establishment (name, type) " +
+                "SELECT 'Load ' || g, (ARRAY ['RESTAURANT', 'SHOP', 'HOTEL'])[g % 3 + 1] " +
+                "FROM generate_series(0, :establishments - 1) g", params);
+        jdbcTemplate.update("INSERT INTO customer (email, password_hash) " +
+                "SELECT 'seed-' || g || '@example.com', :passwordHash " +
+                "FROM generate_series(0, :customers - 1) g", params);
+
+        int feedback = jdbcTemplate.update("WITH e AS (" +
+                "  SELECT array_agg(id ORDER BY id) AS ids FROM establishment WHERE name LIKE 'Load %'), " +
+                "c AS (" +
+                "  SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM customer WHERE email LIKE 'seed-%') " +
+                "INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score, create_time) " +
+                "SELECT c.id, " +
+                "       CASE WHEN j = 0 THEN e.ids[CAST(c.n % :hot AS INT) + 1] " +
+                "            ELSE e.ids[:hot + CAST((c.n + j) % (:establishments - :hot) AS INT) + 1] END, " +
+                "       'Seeded review', 'Generated for load testing', CAST((c.n + j) % 11 AS INT), " +
+                "       now() - make_interval(secs => c.n * :reviews + j) " +
+                "FROM c CROSS JOIN e CROSS JOIN generate_series(0, :reviews - 1) j", params);
+
+        jdbcTemplate.update("INSERT INTO establishment_rating (establishment_id, review_count, score_sum, histogram) " +
+                "SELECT establishment_id, COUNT(*), SUM(score), " +
+                "       ARRAY [" +
+                "COUNT(*) FILTER (WHERE score = 0), COUNT(*) FILTER (WHERE score = 1), " +
+                "COUNT(*) FILTER (WHERE score = 2), COUNT(*) FILTER (WHERE score = 3), " +
+                "COUNT(*) FILTER (WHERE score = 4), COUNT(*) FILTER (WHERE score = 5), " +
+                "COUNT(*) FILTER (WHERE score = 6), COUNT(*) FILTER (WHERE score = 7), " +
+                "COUNT(*) FILTER (WHERE score = 8), COUNT(*) FILTER (WHERE score = 9), " +
+                "COUNT(*) FILTER (WHERE score = 10)" +
+                "] " +
+                "FROM feedback WHERE establishment_id IN (SELECT id FROM establishment WHERE name LIKE 'Load %') " +
+                "GROUP BY establishment_id", params);
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE");
+
+        log.info("Seeded {} establishments, {} customers and {} feedback rows in {} s",
+                config.establishments(), config.customers(), feedback, (System.nanoTime() - start) / 1_000_000_000);
+
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM establishment WHERE name LIKE 'Load %' ORDER BY id", params, Long.class);
+    }
+}
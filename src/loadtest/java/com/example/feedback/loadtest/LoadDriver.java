@@ -0,0 +1,194 @@
+package com.example.feedback.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model load generator: each virtual user is a seeded customer that issues requests back to back,
+ * picking the next operation at random according to {@link Operation#weight()}.
+ * Latencies are recorded per operation once the warmup is over.
+ */
+@Slf4j
+class LoadDriver {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final List<Long> establishmentIds;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final int totalWeight;
+
+    private volatile long measureFrom;
+
+    LoadDriver(String baseUrl, LoadTestConfig config, List<Long> establishmentIds) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.establishmentIds = establishmentIds;
+        int weights = 0;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_TRACKED_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+            weights += operation.weight();
+        }
+        this.totalWeight = weights;
+    }
+
+    /**
+     * Runs the warmup and the measured phase and returns the measurements.
+     */
+    LoadTestReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureFrom = start + config.warmup().toNanos();
+        long deadline = measureFrom + config.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.concurrency());
+        for (int user = 0; user < config.concurrency(); user++) {
+            int customer = user;
+            executor.submit(() -> runUser(customer, deadline));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(config.warmup().plus(config.duration()).plusMinutes(1).toMillis(),
+                TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+
+        return new LoadTestReport(config, latencies, errors, Duration.ofNanos(deadline - measureFrom));
+    }
+
+    private void runUser(int customer, long deadline) {
+        String email = "seed-" + customer + "@example.com";
+        String token;
+        try {
+            token = login(email);
+        } catch (Exception e) {
+            log.error("Virtual user {} could not log in: {}", customer, e.getMessage());
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            try {
+                switch (operation) {
+                    case SIGNUP -> signup();
+                    case LOGIN -> token = login(email);
+                    case CREATE_FEEDBACK -> writeFeedback(customer, token, random);
+                    case LIST_HOT -> send(Operation.LIST_HOT, get("/api/v1/feedback?establishmentId=" +
+                            hotEstablishment(random), token));
+                    case PAGE_HOT -> send(Operation.PAGE_HOT, get("/api/v1/feedback/page?size=50&establishmentId=" +
+                            hotEstablishment(random), token));
+                    default -> throw new IllegalStateException("Not a top-level operation: " + operation);
+                }
+            } catch (Exception e) {
+                if (System.nanoTime() >= measureFrom) {
+                    errors.get(operation).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private Operation pick(int ticket) {
+        for (Operation operation : Operation.values()) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not cover ticket " + ticket);
+    }
+
+    private void signup() throws Exception {
+        send(Operation.SIGNUP, post("/api/v1/auth/signup", credentials("signup-" + UUID.randomUUID() + "@example.com"),
+                null));
+    }
+
+    private String login(String email) throws Exception {
+        JsonNode body = send(Operation.LOGIN, post("/api/v1/auth/login", credentials(email), null));
+        return body.get("token").asText();
+    }
+
+    /**
+     * Reviews an establishment this customer has not seeded a review for, then deletes the review again.
+     */
+    private void writeFeedback(int customer, String token, ThreadLocalRandom random) throws Exception {
+        int regular = config.establishments() - config.hotEstablishments();
+        int offset = config.reviewsPerCustomer() + random.nextInt(regular - config.reviewsPerCustomer());
+        Long establishmentId = establishmentIds.get(config.hotEstablishments() + (customer + offset) % regular);
+
+        String feedback = objectMapper.writeValueAsString(Map.of(
+                "establishmentId", establishmentId,
+                "title", "Load test",
+                "textComment", "Written by the load test",
+                "score", random.nextInt(11)));
+        JsonNode created = send(Operation.CREATE_FEEDBACK, post("/api/v1/feedback", feedback, token));
+
+        HttpRequest delete = authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/feedback/" +
+                created.get("id").asLong())), token).DELETE().build();
+        send(Operation.DELETE_FEEDBACK, delete);
+    }
+
+    private Long hotEstablishment(ThreadLocalRandom random) {
+        return establishmentIds.get(random.nextInt(config.hotEstablishments()));
+    }
+
+    private String credentials(String email) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("email", email, "password", DatasetSeeder.PASSWORD));
+    }
+
+    private HttpRequest get(String path, String token) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)), token).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)), token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder builder, String token) {
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Sends a request, records its latency and fails on any non-2xx status.
+     *
+     * @return The parsed response body, or {@code null} if it is empty.
+     */
+    private JsonNode send(Operation operation, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long end = System.nanoTime();
+
+        if (start >= measureFrom) {
+            latencies.get(operation).recordValue(Math.min(end - start, MAX_TRACKED_NANOS));
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(operation + " returned " + response.statusCode());
+        }
+        return response.body().length == 0 ? null : objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.feedback.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties so runs are reproducible from the command line.
+ *
+ * @param customers          Seeded customers; the first {@code concurrency} of them drive the workload.
+ * @param establishments     Seeded establishments.
+ * @param hotEstablishments  Establishments every customer has reviewed once; the listing workload targets these.
+ * @param reviewsPerCustomer Seeded reviews per customer, one of them on a hot establishment.
+ * @param concurrency        Concurrent virtual users, each issuing its next request as soon as the previous returns.
+ * @param warmup             Time spent driving load before latencies are recorded.
+ * @param duration           Measured time.
+ * @param p99Slo             Per-operation p99 latency threshold.
+ * @param maxErrorRate       Highest tolerated share of failed requests across all operations.
+ * @param profiles           Spring profiles to compare, each run against its own freshly seeded database;
+ *                           {@code default} runs with application.yml alone.
+ */
+record LoadTestConfig(int customers,
+                      int establishments,
+                      int hotEstablishments,
+                      int reviewsPerCustomer,
+                      int concurrency,
+                      Duration warmup,
+                      Duration duration,
+                      Map<Operation, Duration> p99Slo,
+                      double maxErrorRate,
+                      List<String> profiles) {
+
+    LoadTestConfig {
+        if (profiles.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.profiles must name at least one profile");
+        }
+        if (concurrency > customers) {
+            throw new IllegalArgumentException("loadtest.concurrency must not exceed loadtest.customers");
+        }
+        if (reviewsPerCustomer >= establishments - hotEstablishments) {
+            // Writers need establishments they have not reviewed yet
+            throw new IllegalArgumentException(
+                    "loadtest.reviewsPerCustomer must be below loadtest.establishments - loadtest.hotEstablishments");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        Map<Operation, Duration> p99Slo = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            p99Slo.put(operation, Duration.ofMillis(Long.getLong(
+                    "loadtest.slo." + operation.key() + ".p99", operation.defaultP99Millis())));
+        }
+
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.customers", 100_000),
+                Integer.getInteger("loadtest.establishments", 5_000),
+                Integer.getInteger("loadtest.hotEstablishments", 10),
+                Integer.getInteger("loadtest.reviewsPerCustomer", 20),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT30S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+                p99Slo,
+                Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.001")),
+                Arrays.stream(System.getProperty("loadtest.profiles", "default").split(","))
+                        .map(String::trim)
+                        .filter(profile -> !profile.isEmpty())
+                        .toList());
+    }
+}
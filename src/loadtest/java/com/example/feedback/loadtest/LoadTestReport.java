@@ -0,0 +1,110 @@
+package com.example.feedback.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency percentiles per operation for the measured phase, checked against the configured SLOs.
+ */
+class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final Map<Operation, Histogram> latencies;
+    private final Map<Operation, AtomicLong> errors;
+    private final Duration measured;
+
+    LoadTestReport(LoadTestConfig config, Map<Operation, Histogram> latencies, Map<Operation, AtomicLong> errors,
+                   Duration measured) {
+        this.config = config;
+        this.latencies = latencies;
+        this.errors = errors;
+        this.measured = measured;
+    }
+
+    String format() {
+        StringBuilder report = new StringBuilder(String.format("%n%-8s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "SLO p99"));
+        double seconds = measured.toMillis() / 1000.0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            report.append(String.format("%-8s %10d %10.1f %8d %9.1f %9.1f %9.1f %9.1f %9d%n",
+                    operation.key(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    errors.get(operation).get(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()),
+                    config.p99Slo().get(operation).toMillis()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Lays out the throughput and p99 of runs under different profiles side by side.
+     *
+     * @param reports The report of each run, keyed by profile, in the order of the columns.
+     */
+    static String compare(Map<String, LoadTestReport> reports) {
+        StringBuilder comparison = new StringBuilder(String.format("%n%-8s", "op"));
+        reports.keySet().forEach(profile -> comparison.append(String.format(" %21s", profile)));
+        comparison.append(String.format("%n%-8s", ""));
+        reports.keySet().forEach(profile -> comparison.append(String.format(" %10s %10s", "req/s", "p99 ms")));
+        comparison.append(String.format("%n"));
+
+        for (Operation operation : Operation.values()) {
+            comparison.append(String.format("%-8s", operation.key()));
+            reports.values().forEach(report -> comparison.append(String.format(" %10.1f %10.1f",
+                    report.throughput(operation), millis(report.latencies.get(operation).getValueAtPercentile(99)))));
+            comparison.append(String.format("%n"));
+        }
+        comparison.append(String.format("%-8s", "total"));
+        reports.values().forEach(report -> comparison.append(String.format(" %10.1f %10s",
+                Arrays.stream(Operation.values()).mapToDouble(report::throughput).sum(), "")));
+        return comparison.append(String.format("%n")).toString();
+    }
+
+    /**
+     * @return One line per breached threshold; empty if the run met every SLO.
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long failed = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            requests += histogram.getTotalCount();
+            failed += errors.get(operation).get();
+
+            long p99 = histogram.getValueAtPercentile(99);
+            long slo = config.p99Slo().get(operation).toNanos();
+            if (histogram.getTotalCount() > 0 && p99 > slo) {
+                violations.add(String.format("%s p99 %.1f ms exceeds %d ms",
+                        operation.key(), millis(p99), config.p99Slo().get(operation).toMillis()));
+            }
+        }
+
+        double errorRate = requests == 0 ? 1.0 : (double) failed / requests;
+        if (errorRate > config.maxErrorRate()) {
+            violations.add(String.format("error rate %.4f exceeds %.4f (%d of %d requests)",
+                    errorRate, config.maxErrorRate(), failed, requests));
+        }
+        return violations;
+    }
+
+    private double throughput(Operation operation) {
+        return latencies.get(operation).getTotalCount() / (measured.toMillis() / 1000.0);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
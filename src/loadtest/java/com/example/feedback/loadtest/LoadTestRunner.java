@@ -0,0 +1,85 @@
+package com.example.feedback.loadtest;
+
+import com.example.feedback.FeedbackApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts Postgres in a container, boots the application against it on a random port,
+ * seeds a large dataset and drives a mixed workload over HTTP. Exits with status 1 if any SLO is breached.
+ * <p>
+ * Run with {@code mvn -Ploadtest -DskipTests verify}; see {@link LoadTestConfig} for the {@code loadtest.*}
+ * properties, passed through {@code -Dloadtest.args="-Dloadtest.duration=PT5M ..."}. With several
+ * {@code loadtest.profiles} each profile is run in turn and the runs are compared side by side.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        log.info("Load test configuration: {}", config);
+
+        Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+        for (String profile : config.profiles()) {
+            LoadTestReport report = run(config, profile);
+            log.info("Load test results ({} profile):{}", profile, report.format());
+            reports.put(profile, report);
+            report.violations().forEach(violation -> violations.add(
+                    config.profiles().size() > 1 ? profile + ": " + violation : violation));
+        }
+        if (reports.size() > 1) {
+            log.info("Load test comparison:{}", LoadTestReport.compare(reports));
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> log.error("SLO breached: {}", violation));
+            System.exit(1);
+        }
+        log.info("All SLOs met");
+    }
+
+    private static LoadTestReport run(LoadTestConfig config, String profile) throws InterruptedException {
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15").withDatabaseName("feedback_db")) {
+            postgres.start();
+
+            byte[] secret = new byte[64];
+            new SecureRandom().nextBytes(secret);
+
+            // Passed as command line arguments so they take precedence over application.yml and the profile;
+            // the pool size and SQL logging are pinned so that profiles are compared on the same footing
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FeedbackApplication.class)
+                    .profiles("default".equals(profile) ? new String[0] : new String[]{profile})
+                    .run(
+                            "--server.port=0",
+                            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                            "--spring.datasource.username=" + postgres.getUsername(),
+                            "--spring.datasource.password=" + postgres.getPassword(),
+                            "--spring.datasource.hikari.maximum-pool-size=" + Math.max(10, config.concurrency()),
+                            "--spring.jpa.show-sql=false",
+                            "--feedback.rate-limit.enabled=false",
+                            "--spring.security.jwt.secret-key=" + Base64.getEncoder().encodeToString(secret),
+                            "--logging.level.com.example.feedback=INFO")) {
+
+                NamedParameterJdbcTemplate jdbcTemplate = context.getBean(NamedParameterJdbcTemplate.class);
+                String passwordHash = context.getBean(PasswordEncoder.class).encode(DatasetSeeder.PASSWORD);
+                List<Long> establishmentIds = new DatasetSeeder(jdbcTemplate, config).seed(passwordHash);
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                return new LoadDriver("http://localhost:" + port, config, establishmentIds).run();
+            }
+        }
+    }
+}
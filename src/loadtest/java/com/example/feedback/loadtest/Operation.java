@@ -0,0 +1,36 @@
+package com.example.feedback.loadtest;
+
+/**
+ * Requests issued by the load test, with their share of the mix and default p99 thresholds.
+ * A write creates a feedback and then deletes it, so the dataset stays the same size for the whole run.
+ */
+enum Operation {
+    SIGNUP("signup", 2, 1_000),
+    LOGIN("login", 8, 1_000),
+    CREATE_FEEDBACK("create", 15, 200),
+    DELETE_FEEDBACK("delete", 0, 200),
+    LIST_HOT("list", 25, 2_000),
+    PAGE_HOT("page", 50, 100);
+
+    private final String key;
+    private final int weight;
+    private final long defaultP99Millis;
+
+    Operation(String key, int weight, long defaultP99Millis) {
+        this.key = key;
+        this.weight = weight;
+        this.defaultP99Millis = defaultP99Millis;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    long defaultP99Millis() {
+        return defaultP99Millis;
+    }
+}
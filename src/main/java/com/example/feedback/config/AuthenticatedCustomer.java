@@ -0,0 +1,18 @@
+package com.example.feedback.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}.
+ * The id comes from the token's customer id claim, so services need no lookup to identify the caller.
+ *
+ * @param id    The customer ID, or {@code null} for tokens issued before the claim existed.
+ * @param email The customer email (the token subject).
+ */
+public record AuthenticatedCustomer(Long id, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
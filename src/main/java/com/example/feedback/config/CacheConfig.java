@@ -0,0 +1,15 @@
+package com.example.feedback.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Caffeine-backed application caches. Sizes and expiry are configured under {@code spring.cache}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ESTABLISHMENTS = "establishments";
+    public static final String ESTABLISHMENTS_BY_TYPE = "establishmentsByType";
+}
@@ -0,0 +1,79 @@
+package com.example.feedback.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Guards the connection pools with a {@link BulkheadDataSource} when request handling runs on virtual threads, and
+ * times statements with a {@link SlowQueryLoggingDataSource} when the slow query log is enabled.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public static BeanPostProcessor dataSourceBulkhead(Environment environment) {
+        Integer maxConcurrent = environment.getProperty("feedback.datasource.bulkhead.max-concurrent", Integer.class);
+        Duration acquireTimeout = environment.getRequiredProperty("feedback.datasource.bulkhead.acquire-timeout",
+                Duration.class);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource,
+                            maxConcurrent != null ? maxConcurrent : maximumPoolSize(dataSource), acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The connections the data source can lend at once: with read replicas, the primary and replica pools together,
+     * since the bulkhead sits in front of the router.
+     */
+    private static int maximumPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return dataSource.unwrap(ReplicaRoutingDataSource.class).maximumPoolSize();
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot size the connection bulkhead", e);
+        }
+        throw new IllegalStateException("Cannot size the connection bulkhead for " + dataSource
+                + "; set feedback.datasource.bulkhead.max-concurrent");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "feedback.datasource.slow-query-log.enabled", havingValue = "true")
+    public static BeanPostProcessor dataSourceSlowQueryLog(Environment environment) {
+        Duration threshold = environment.getRequiredProperty("feedback.datasource.slow-query-log.threshold",
+                Duration.class);
+        double sampleRate = environment.getRequiredProperty("feedback.datasource.slow-query-log.sample-rate",
+                Double.class);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryLoggingDataSource)) {
+                    // The global registry, since the application's registries are not created this early
+                    return new SlowQueryLoggingDataSource(dataSource, threshold, sampleRate, Metrics.globalRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.feedback.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates bulk import clients by the shared key in the {@code X-Import-Key} header and grants them
+ * {@link #AUTHORITY}. Imports write feedback on behalf of any customer, so customer tokens never carry it.
+ * Without a configured key no request is granted the authority.
+ */
+@Component
+public class ImportKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String AUTHORITY = "FEEDBACK_IMPORT";
+    static final String HEADER = "X-Import-Key";
+
+    private final byte[] apiKey;
+
+    public ImportKeyAuthenticationFilter(@Value("${feedback.import.api-key:}") String apiKey) {
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER);
+        // Constant-time comparison, so the key cannot be guessed byte by byte from response times
+        if (key != null && apiKey.length > 0 && MessageDigest.isEqual(apiKey, key.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "importer", null, List.of(new SimpleGrantedAuthority(AUTHORITY))));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.feedback.config;
+
+import com.example.feedback.repository.FeedbackIngestLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opens the local ingest log when asynchronous ingestion is enabled with {@code feedback.ingest.enabled}.
+ * Any feedback left in the log by a previous run is recovered here and written by the next drain.
+ */
+@Configuration
+@ConditionalOnProperty(name = "feedback.ingest.enabled", havingValue = "true")
+@EnableConfigurationProperties(IngestProperties.class)
+public class IngestConfig {
+
+    @Bean(destroyMethod = "close")
+    public FeedbackIngestLog feedbackIngestLog(IngestProperties properties) {
+        return new FeedbackIngestLog(properties.getDirectory(), (int) properties.getSegmentSize().toBytes(),
+                properties.isForceOnAppend());
+    }
+}
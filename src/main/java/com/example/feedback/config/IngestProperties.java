@@ -0,0 +1,39 @@
+package com.example.feedback.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Asynchronous feedback ingestion from {@code feedback.ingest}.
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.ingest")
+public class IngestProperties {
+
+    private boolean enabled = false;
+
+    /** Directory of the local ingest log; must be on persistent storage that survives restarts. */
+    private Path directory = Path.of("data", "ingest");
+
+    /** Size of each memory-mapped log segment; also the upper bound on one record. */
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    /** Whether each submission is flushed to the device before 202 is returned, or left to the OS page cache. */
+    private boolean forceOnAppend = true;
+
+    /** Feedbacks written to the database per statement and transaction. */
+    private int batchSize = 500;
+
+    /** Segments allowed on disk before submissions are refused with 503, e.g. while the database is down. */
+    private int maxSegments = 64;
+
+    /** Retry-After sent with those 503 responses. */
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    /** How long the outcome of an ingested feedback stays available to the status endpoint. */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -1,33 +1,37 @@
 package com.example.feedback.config;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.security.Key;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${spring.security.jwt.secret-key}")
-    private String jwtSecretKey;
+    private static final String VERIFICATION_TIMER = "security.jwt.verification";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.verifiedTimer = verificationTimer(meterRegistry, "verified");
+        this.rejectedTimer = verificationTimer(meterRegistry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -39,29 +43,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
+            long start = System.nanoTime();
 
             try {
-                // Decode the secret key and create a Key object
-                byte[] keyBytes = Base64.getDecoder().decode(jwtSecretKey);
-                Key key = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS512.getJcaName());
-
-                // Use parserBuilder for updated parsing
-                JwtParser parser = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build();
-
-                // Parse the JWT token to extract claims
-                Claims claims = parser.parseClaimsJws(token).getBody();
+                // Verify the token with the shared parser (or the verified-token cache)
+                Claims claims = jwtTokenProvider.parseClaims(token);
 
                 String username = claims.getSubject();
 
                 if (username != null) {
                     // Authenticate user and set the security context
+                    AuthenticatedCustomer principal = new AuthenticatedCustomer(
+                            claims.get(JwtTokenProvider.CUSTOMER_ID_CLAIM, Long.class), username);
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            new User(username, "", new ArrayList<>()), null, new ArrayList<>());
+                            principal, null, new ArrayList<>());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
+                verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             } catch (Exception e) {
+                rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 // Log invalid token error and clear the context
                 log.error("Invalid JWT token: {}", e.getMessage(), e);
                 SecurityContextHolder.clearContext();
@@ -70,5 +70,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
 
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(VERIFICATION_TIMER)
+                .description("Time spent verifying bearer tokens")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.feedback.config;
+
+import com.example.feedback.entity.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once at startup and shared by all
+ * requests; successfully verified tokens are cached so repeat requests skip HMAC verification and
+ * claim parsing. A cached entry never outlives the token's own expiry.
+ */
+@Component
+public class JwtTokenProvider {
+
+    public static final String CUSTOMER_ID_CLAIM = "cid";
+
+    private final Key key;
+    private final JwtParser parser;
+    private final long expirationTime;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtTokenProvider(@Value("${spring.security.jwt.secret-key}") String secretKey,
+                            @Value("${spring.security.jwt.expiration-time}") long expirationTime,
+                            @Value("${spring.security.jwt.cache.max-size}") long cacheMaxSize,
+                            @Value("${spring.security.jwt.cache.ttl}") Duration cacheTtl) {
+        this.key = new SecretKeySpec(Base64.getDecoder().decode(secretKey), SignatureAlgorithm.HS512.getJcaName());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.expirationTime = expirationTime;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheTtl.toNanos()))
+                .build();
+    }
+
+    /**
+     * Generates a signed token for the given customer.
+     *
+     * @param customer The authenticated customer.
+     * @return The compact JWT.
+     */
+    public String generateToken(Customer customer) {
+        return Jwts.builder()
+                .setSubject(customer.getEmail())
+                .claim(CUSTOMER_ID_CLAIM, customer.getId())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    /**
+     * Verifies a token and returns its claims, using the verified-token cache when possible.
+     *
+     * @param token The compact JWT.
+     * @return The verified claims.
+     * @throws JwtException If the token is malformed, expired or has an invalid signature.
+     */
+    public Claims parseClaims(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Expires each cached token after the configured TTL or at the token's own expiry, whichever comes first.
+     */
+    private record TokenExpiry(long ttlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(claims.getExpiration().getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.feedback.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Compact binary alternatives to JSON, selected by the {@code Accept} header ({@code application/cbor} or
+ * {@code application/x-jackson-smile}). JSON stays the default for clients that do not ask for either.
+ * Both converters are built from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so they share the
+ * {@code spring.jackson} settings and modules of the JSON converter.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile back-references repeated short strings, so the customer e-mail and establishment name that repeat
+     * on every row of a listing are written once and referenced afterwards.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory).build());
+    }
+}
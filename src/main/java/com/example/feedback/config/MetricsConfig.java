@@ -0,0 +1,22 @@
+package com.example.feedback.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on Spring beans. Endpoint, repository and connection pool
+ * metrics are registered by Spring Boot itself; percentiles are configured under {@code management.metrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Timer recorded around every method of the annotated service classes, tagged by class and method. */
+    public static final String SERVICE_TIMER = "feedback.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
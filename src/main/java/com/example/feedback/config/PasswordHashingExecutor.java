@@ -0,0 +1,117 @@
+package com.example.feedback.config;
+
+import com.example.feedback.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the CPU, with a bounded queue.
+ * When the queue is full the call fails at once with {@link ServiceOverloadedException}, so a login storm
+ * sheds load quickly instead of piling up request threads.
+ * <p>
+ * Callers must not hold a database connection while waiting here. The pool publishes
+ * {@code executor.*{name="password.hashing"}} metrics, including queue depth, and times every hash as
+ * {@code password.hashing}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_NAME = "password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   @Value("${feedback.password-hashing.threads}") int threads,
+                                   @Value("${feedback.password-hashing.queue-capacity}") int queueCapacity,
+                                   @Value("${feedback.password-hashing.retry-after}") Duration retryAfter,
+                                   MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Hashes a raw password.
+     *
+     * @throws ServiceOverloadedException If too many hashes are already queued.
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Checks a raw password against a stored hash.
+     *
+     * @throws ServiceOverloadedException If too many hashes are already queued.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Too many authentication requests in progress.", retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent hashing or verifying a password, excluding queueing")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.feedback.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limits from {@code feedback.rate-limit}. Each request is limited by the first rule that matches it.
+ * Validated at startup, so a rule that could never admit a request fails with the offending key.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "feedback.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets left untouched this long are full again and are dropped. */
+    @NotNull
+    @DurationMin(nanos = 1)
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Valid
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        @NotBlank
+        private String name;
+
+        /** HTTP method to match, or {@code null} for any method. */
+        private String method;
+
+        /** Path pattern, e.g. {@code /api/v1/auth/**}. */
+        @NotBlank
+        private String path;
+
+        @NotNull
+        private KeyType key = KeyType.IP;
+
+        /** Sustained number of requests allowed per {@link #period}. */
+        @Positive
+        private int limit;
+
+        @NotNull
+        @DurationMin(nanos = 1)
+        private Duration period = Duration.ofSeconds(1);
+
+        /** Requests allowed back to back; defaults to {@link #limit}. */
+        @Positive
+        private Integer burst;
+    }
+
+    public enum KeyType {
+        /** Limit per client address. */
+        IP,
+        /** Limit per authenticated customer, falling back to the client address without a valid token. */
+        SUBJECT
+    }
+}
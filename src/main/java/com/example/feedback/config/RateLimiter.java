@@ -0,0 +1,128 @@
+package com.example.feedback.config;
+
+import com.example.feedback.config.RateLimitProperties.KeyType;
+import com.example.feedback.config.RateLimitProperties.Rule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client token buckets for the rules in {@link RateLimitProperties}. Buckets live in a
+ * {@link ConcurrentHashMap}, so lookups never lock and inserts only lock one bin; idle buckets are evicted
+ * periodically.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final List<CompiledRule> rules;
+    private final long idleNanos;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties, JwtTokenProvider jwtTokenProvider, MeterRegistry meterRegistry) {
+        this.rules = properties.isEnabled()
+                ? properties.getRules().stream().map(rule -> new CompiledRule(rule, meterRegistry)).toList()
+                : List.of();
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    /**
+     * Charges the request to its client's bucket under the first matching rule.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds the client should wait before retrying.
+     */
+    public long acquire(HttpServletRequest request) {
+        if (rules.isEmpty()) {
+            return 0;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (CompiledRule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                String key = rule.name + ':' + clientKey(rule.keyType, request);
+                long now = System.nanoTime();
+                TokenBucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = buckets.computeIfAbsent(key,
+                            k -> new TokenBucket(rule.emissionIntervalNanos, rule.burst, now));
+                }
+                long waitNanos = bucket.tryAcquire(now);
+                if (waitNanos > 0) {
+                    rule.rejected.increment();
+                }
+                return waitNanos;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops buckets that have refilled completely and seen no traffic since; they would be recreated full anyway.
+     */
+    @Scheduled(fixedDelayString = "${feedback.rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now, idleNanos));
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private String clientKey(KeyType keyType, HttpServletRequest request) {
+        if (keyType == KeyType.SUBJECT) {
+            String authorizationHeader = request.getHeader("Authorization");
+            if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
+                try {
+                    // Served from the verified-token cache for all but the first request with a token
+                    return "sub:" + jwtTokenProvider.parseClaims(authorizationHeader.substring(BEARER_PREFIX.length()))
+                            .getSubject();
+                } catch (RuntimeException e) {
+                    // Invalid tokens are limited by address; the JWT filter rejects them afterwards
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class CompiledRule {
+        private final String name;
+        private final String method;
+        private final PathPattern pattern;
+        private final KeyType keyType;
+        private final long emissionIntervalNanos;
+        private final int burst;
+        private final Counter rejected;
+
+        CompiledRule(Rule rule, MeterRegistry meterRegistry) {
+            this.name = rule.getName();
+            this.method = rule.getMethod();
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.keyType = rule.getKey();
+            this.emissionIntervalNanos = rule.getPeriod().toNanos() / rule.getLimit();
+            this.burst = rule.getBurst() != null ? rule.getBurst() : rule.getLimit();
+            this.rejected = Counter.builder("http.server.requests.rate.limited")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("rule", name)
+                    .register(meterRegistry);
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.feedback.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single connection pool with a {@link ReplicaRoutingDataSource} when read replicas are enabled with
+ * {@code feedback.datasource.replicas.enabled}. The primary pool keeps its {@code spring.datasource} settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "feedback.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties dataSourceProperties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(dataSourceProperties.determineUrl());
+        config.setUsername(dataSourceProperties.determineUsername());
+        config.setPassword(dataSourceProperties.determinePassword());
+        config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        config.setPoolName("primary");
+        return config;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(HikariConfig primaryPoolConfig, ReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        primaryPoolConfig.setMetricsTrackerFactory(metrics);
+        HikariDataSource primary = new HikariDataSource(primaryPoolConfig);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (HikariConfig config : properties.getPools()) {
+            if (config.getUsername() == null) {
+                config.setUsername(primaryPoolConfig.getUsername());
+                config.setPassword(primaryPoolConfig.getPassword());
+            }
+            if (config.getDriverClassName() == null) {
+                config.setDriverClassName(primaryPoolConfig.getDriverClassName());
+            }
+            if (config.getPoolName() == null) {
+                config.setPoolName("replica-" + (replicas.size() + 1));
+            }
+            // A replica that is down at startup is skipped until it recovers instead of failing the application
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(metrics);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getReadYourWritesWindow(),
+                properties.getMaxLag());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.feedback.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Periodically probes the read replicas, so that a replica that went down or fell behind stops receiving reads
+ * and one that recovered receives them again.
+ */
+@Component
+@ConditionalOnProperty(name = "feedback.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaHealthMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaHealthMonitor(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        // Unwrapped, since the data source may be wrapped in a bulkhead
+        this.routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+
+        Gauge.builder("feedback.datasource.replicas.available", routingDataSource,
+                        ReplicaRoutingDataSource::availableReplicas)
+                .description("Read replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.datasource.replicas.health-check-interval:5000}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.feedback.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing from {@code feedback.datasource.replicas}.
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.datasource.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * One connection pool per replica, with the same keys as {@code spring.datasource.hikari} plus
+     * {@code jdbc-url}; the username, password and driver default to the primary's.
+     */
+    private List<HikariConfig> pools = new ArrayList<>();
+
+    /** How long a customer's reads stay on the primary after a transaction of theirs committed a write. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** Replication lag beyond which a replica stops receiving reads until it catches up. */
+    private Duration maxLag = Duration.ofSeconds(10);
+}
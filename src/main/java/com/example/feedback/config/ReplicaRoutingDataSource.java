@@ -0,0 +1,212 @@
+package com.example.feedback.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a pool of replicas and everything else to the primary.
+ * <p>
+ * The pool is chosen when a transaction runs its first statement, not when it begins: transaction managers
+ * borrow their connection before the transaction is marked read-only, so the router sits behind a
+ * {@link LazyConnectionDataSourceProxy}. Replicas take reads in turn, skipping any that the last health check
+ * found down or lagging, or that just refused a connection; with none left, reads go to the primary.
+ * <p>
+ * Read-your-writes: once a customer's read-write transaction commits, that customer's reads go to the primary
+ * for the configured window, long enough for replication to catch up. The window is kept per instance.
+ * Reads whose result outlives the request, such as cache loads, can be pinned to the primary with
+ * {@link #readFromPrimary(Supplier)}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends DelegatingDataSource implements Closeable {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<HikariDataSource> available;
+
+    /**
+     * @param primary              The pool of the primary, for writes and as the fallback for reads.
+     * @param replicas             One pool per replica.
+     * @param readYourWritesWindow How long a customer reads from the primary after committing a write.
+     * @param maxLag               Replication lag beyond which a replica is skipped.
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    Duration readYourWritesWindow, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        // Assumed healthy until a check or a failed connection says otherwise
+        this.available = this.replicas;
+        setTargetDataSource(new LazyConnectionDataSourceProxy(new Router()));
+    }
+
+    /**
+     * Runs {@code read} with every connection it borrows taken from the primary, for results that are kept long
+     * after replication would have caught up. Harmless without replicas.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        Boolean outer = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The connections the primary and replica pools can lend at once, together.
+     */
+    public int maximumPoolSize() {
+        return primary.getMaximumPoolSize() + replicas.stream().mapToInt(HikariDataSource::getMaximumPoolSize).sum();
+    }
+
+    /**
+     * Probes every replica and updates the set that receives reads.
+     */
+    public void checkReplicas() {
+        List<HikariDataSource> healthy = new ArrayList<>(replicas.size());
+        for (HikariDataSource replica : replicas) {
+            try (Connection connection = replica.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    healthy.add(replica);
+                } else {
+                    log.warn("Replica {} is {} s behind the primary", replica.getPoolName(), lagSeconds);
+                }
+            } catch (SQLException e) {
+                log.warn("Replica {} is unavailable: {}", replica.getPoolName(), e.getMessage());
+            }
+        }
+        if (healthy.size() != available.size()) {
+            log.info("{} of {} replicas receive reads", healthy.size(), replicas.size());
+        }
+        available = List.copyOf(healthy);
+    }
+
+    /**
+     * @return The number of replicas currently receiving reads.
+     */
+    public int availableReplicas() {
+        return available.size();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private HikariDataSource route() {
+        if (PRIMARY_ONLY.get() != null) {
+            return primary;
+        }
+        String customer = currentCustomer();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (customer != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(customer, Boolean.TRUE);
+                    }
+                });
+            }
+            return primary;
+        }
+        if (customer != null && recentWriters.getIfPresent(customer) != null) {
+            return primary;
+        }
+        List<HikariDataSource> candidates = available;
+        if (candidates.isEmpty()) {
+            return primary;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    private void markUnavailable(HikariDataSource replica, SQLException cause) {
+        synchronized (this) {
+            List<HikariDataSource> remaining = new ArrayList<>(available);
+            if (!remaining.remove(replica)) {
+                return;
+            }
+            available = List.copyOf(remaining);
+        }
+        log.warn("Replica {} refused a connection; reading from the others until the next check: {}",
+                replica.getPoolName(), cause.getMessage());
+    }
+
+    private static String currentCustomer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Picks the pool for each physical connection; reached through the lazy proxy on a transaction's first statement.
+     */
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            HikariDataSource target = route();
+            while (target != primary) {
+                try {
+                    return target.getConnection();
+                } catch (SQLException e) {
+                    // Routed again: to another replica, or to the primary once none is left
+                    markUnavailable(target, e);
+                    target = route();
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            // Pools are configured with their own credentials
+            return getConnection();
+        }
+    }
+}
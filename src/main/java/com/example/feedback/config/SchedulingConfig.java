@@ -0,0 +1,12 @@
+package com.example.feedback.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@link org.springframework.scheduling.annotation.Scheduled} background maintenance tasks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,7 +1,12 @@
 package com.example.feedback.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -11,12 +16,21 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ImportKeyAuthenticationFilter importKeyAuthenticationFilter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                          ImportKeyAuthenticationFilter importKeyAuthenticationFilter,
+                          @Value("${management.server.port}") int managementPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.importKeyAuthenticationFilter = importKeyAuthenticationFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -26,14 +40,30 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/auth/**").permitAll() // Allow public access to /api/auth/**
+                        .requestMatchers(this::isProbeOrScrape).permitAll() // Only on the internal management port
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Streams complete after the request was authorized
+                        .requestMatchers(HttpMethod.POST, "/api/v1/feedback/import")
+                        .hasAuthority(ImportKeyAuthenticationFilter.AUTHORITY) // Writes on behalf of any customer
                         .anyRequest().authenticated() // Protect all other endpoints
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class) // JWT filter
+                .addFilterAfter(importKeyAuthenticationFilter, JwtAuthenticationFilter.class) // Bulk import clients
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class) // Shed excess requests first
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)); // Stateless session
 
         return http.build();
     }
 
+    /**
+     * Health (including its liveness and readiness groups) and Prometheus, when requested on the management port.
+     */
+    private boolean isProbeOrScrape(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return request.getLocalPort() == managementPort
+                && (uri.equals("/actuator/health") || uri.startsWith("/actuator/health/")
+                || uri.equals("/actuator/prometheus"));
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,104 @@
+package com.example.feedback.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement executed through the data source and logs those slower than a threshold, replacing
+ * {@code spring.jpa.show-sql}, which writes every statement to stdout.
+ * <p>
+ * Every slow statement is counted in {@code feedback.datasource.slow.statements}, but only a random
+ * {@code sample-rate} share of them is logged, so a burst of slow statements does not turn into a burst of log
+ * writes. Only the SQL is logged, never the bound parameters. Wrapping the data source rather than Hibernate also
+ * covers the statements issued through {@code JdbcTemplate}.
+ */
+@Slf4j
+public class SlowQueryLoggingDataSource extends DelegatingDataSource {
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Counter slowStatements;
+
+    public SlowQueryLoggingDataSource(DataSource targetDataSource, Duration threshold, double sampleRate,
+                                      MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slowStatements = Counter.builder("feedback.datasource.slow.statements")
+                .description("Statements that took longer than the slow query threshold, logged or not")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        // prepareStatement and prepareCall take the SQL up front, createStatement with each execute
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return timed(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement timed(Statement statement, Class<?> statementType, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(statementType.getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        if (elapsed >= thresholdNanos) {
+                            String sql = preparedSql != null ? preparedSql
+                                    : args != null && args.length > 0 && args[0] instanceof String executed ? executed
+                                    : "<batch>";
+                            slow(sql, elapsed);
+                        }
+                    }
+                });
+    }
+
+    private void slow(String sql, long elapsedNanos) {
+        slowStatements.increment();
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("Slow statement took {} ms (threshold {} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(thresholdNanos), sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
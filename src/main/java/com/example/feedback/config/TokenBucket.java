@@ -0,0 +1,52 @@
+package com.example.feedback.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one theoretical arrival time, advanced by
+ * compare-and-set, so concurrent requests for the same client never block each other.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param emissionIntervalNanos Time in which one token is replenished.
+     * @param burst                 Tokens the bucket holds when full.
+     * @param now                   Current {@link System#nanoTime()}; the bucket starts full.
+     */
+    TokenBucket(long emissionIntervalNanos, int burst, long now) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now Current {@link System#nanoTime()}.
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token becomes available.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, now);
+            long allowedAt = base - toleranceNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Whether the bucket has been full for at least {@code idleNanos}, so dropping it loses nothing.
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - theoreticalArrival.get() > idleNanos;
+    }
+}
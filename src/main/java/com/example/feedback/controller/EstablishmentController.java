@@ -0,0 +1,47 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.dto.LeaderboardEntryDTO;
+import com.example.feedback.service.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for establishments.
+ */
+@RestController
+@RequestMapping("/api/v1/establishments")
+public class EstablishmentController {
+
+    private final LeaderboardService leaderboardService;
+
+    public EstablishmentController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Retrieves the best-rated establishments of a type, served from memory.
+     *
+     * @param type The type of establishments, e.g. RESTAURANT.
+     * @param size The number of establishments to return; defaults to the configured size and is capped.
+     * @return The establishments ranked by Bayesian average score, best first.
+     */
+    @Operation(summary = "Retrieve the best-rated establishments of a type")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully; empty if nothing of the type has been reviewed"),
+            @ApiResponse(responseCode = "400", description = "Missing type or invalid size"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopEstablishments(@RequestParam String type,
+                                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(leaderboardService.findTop(type, size));
+    }
+}
@@ -1,15 +1,34 @@
 package com.example.feedback.controller;
 
+import com.example.feedback.dto.EstablishmentFeedbackDTO;
+import com.example.feedback.dto.FeedbackBatchRequest;
 import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackPageDTO;
 import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.FeedbackSearchRequest;
+import com.example.feedback.dto.RatingSummaryDTO;
+import com.example.feedback.service.EstablishmentRatingService;
+import com.example.feedback.service.FeedbackEventService;
 import com.example.feedback.service.FeedbackService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -20,9 +39,19 @@ import java.util.List;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
+    private final EstablishmentRatingService establishmentRatingService;
+    private final FeedbackEventService feedbackEventService;
+    private final ObjectMapper objectMapper;
 
-    public FeedbackController(FeedbackService feedbackService) {
+    @Value("${feedback.http-cache.listing-cache-control}")
+    private String listingCacheControl;
+
+    public FeedbackController(FeedbackService feedbackService, EstablishmentRatingService establishmentRatingService,
+                              FeedbackEventService feedbackEventService, ObjectMapper objectMapper) {
         this.feedbackService = feedbackService;
+        this.establishmentRatingService = establishmentRatingService;
+        this.feedbackEventService = feedbackEventService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -46,21 +75,163 @@ public class FeedbackController {
 
     /**
      * Retrieves feedbacks for a specific establishment.
+     * The response carries a weak ETag derived from the establishment's feedback version; a request whose
+     * If-None-Match still matches it is answered with 304 without reading the feedback itself. The tag is weak
+     * because Tomcat never gzips a response with a strong one, and the listing is the response most worth
+     * compressing.
      *
      * @param establishmentId The ID of the establishment.
-     * @return A list of feedbacks for the establishment.
+     * @param webRequest      The current request, used for the conditional check.
+     * @return A list of feedbacks for the establishment, or 304 if the client's copy is current.
      */
     @Operation(summary = "Retrieve feedback for a specific establishment")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Feedbacks retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Feedbacks unchanged since the given ETag"),
             @ApiResponse(responseCode = "400", description = "Invalid establishment ID"),
             @ApiResponse(responseCode = "404", description = "No feedback found for the given establishment"),
             @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<FeedbackResponseDTO>> getFeedbackByEstablishment(@RequestParam Long establishmentId) {
+    public ResponseEntity<List<FeedbackResponseDTO>> getFeedbackByEstablishment(@RequestParam Long establishmentId,
+                                                                                 WebRequest webRequest) {
+        // Read the version before the list, so a concurrent change can only make the ETag older than the body
+        String eTag = "W/\"" + establishmentId + "-" + establishmentRatingService.getVersion(establishmentId) + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, listingCacheControl)
+                    .build();
+        }
+
         List<FeedbackResponseDTO> feedbacks = feedbackService.findByEstablishmentId(establishmentId);
-        return ResponseEntity.ok(feedbacks);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.CACHE_CONTROL, listingCacheControl)
+                .body(feedbacks);
+    }
+
+    /**
+     * Retrieves one page of feedbacks for a specific establishment, newest first.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @param cursor          The cursor returned with the previous page; omit for the first page.
+     * @param size            The page size; defaults to the configured page size.
+     * @return The page of feedbacks and the cursor of the next page.
+     */
+    @Operation(summary = "Retrieve a page of feedback for a specific establishment")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid establishment ID or cursor"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<FeedbackPageDTO> getFeedbackPageByEstablishment(@RequestParam Long establishmentId,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(feedbackService.findPageByEstablishmentId(establishmentId, cursor, size));
+    }
+
+    /**
+     * Retrieves the latest feedbacks of several establishments in one request, e.g. for a map of establishments.
+     *
+     * @param request The establishment ids, repeated or comma-separated, and the feedbacks per establishment.
+     * @return The latest feedbacks grouped by establishment, in the order the ids were given.
+     */
+    @Operation(summary = "Retrieve the latest feedback for several establishments at once")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Feedbacks retrieved successfully; establishments without feedback have no items"),
+            @ApiResponse(responseCode = "400", description = "Missing, invalid or too many establishment IDs, or invalid size"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping("/latest")
+    public ResponseEntity<List<EstablishmentFeedbackDTO>> getLatestFeedbackByEstablishments(
+            @Valid FeedbackBatchRequest request) {
+        return ResponseEntity.ok(feedbackService.findLatestByEstablishmentIds(request));
+    }
+
+    /**
+     * Searches feedback titles and comments for keywords, best match first.
+     *
+     * @param request The keywords, optional establishment, score and date filters, cursor and page size.
+     * @return The page of matching feedbacks and the cursor of the next page.
+     */
+    @Operation(summary = "Search feedback by keywords in title and comment")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing keywords, invalid filter or cursor"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<FeedbackPageDTO> searchFeedback(@Valid FeedbackSearchRequest request) {
+        return ResponseEntity.ok(feedbackService.search(request));
+    }
+
+    /**
+     * Streams all feedbacks for a specific establishment as newline-delimited JSON.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @return A streaming NDJSON body, one feedback per line.
+     */
+    @Operation(summary = "Stream feedback for a specific establishment as NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Feedbacks streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid establishment ID"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFeedbackByEstablishment(@RequestParam Long establishmentId) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            feedbackService.streamByEstablishmentId(establishmentId, feedback -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(feedback));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieves the rating summary of a specific establishment.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @return The review count, mean score and 0-10 score histogram.
+     */
+    @Operation(summary = "Retrieve the rating summary of a specific establishment")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rating summary retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid establishment ID"),
+            @ApiResponse(responseCode = "404", description = "Establishment not found"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping("/rating")
+    public ResponseEntity<RatingSummaryDTO> getRatingSummary(@RequestParam Long establishmentId) {
+        return ResponseEntity.ok(establishmentRatingService.getSummary(establishmentId));
+    }
+
+    /**
+     * Streams feedback changes of a specific establishment as Server-Sent Events, from the time of the request.
+     * Each event is named {@code created} or {@code deleted} and carries the change as JSON.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @return An open event stream.
+     */
+    @Operation(summary = "Stream feedback changes for a specific establishment as Server-Sent Events")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid establishment ID"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFeedbackEvents(@RequestParam Long establishmentId) {
+        return feedbackEventService.subscribe(establishmentId);
     }
 
     /**
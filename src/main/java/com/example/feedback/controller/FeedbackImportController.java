@@ -0,0 +1,49 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.dto.FeedbackImportResultDTO;
+import com.example.feedback.service.FeedbackImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for bulk feedback imports. Only exposed with {@code feedback.import.enabled}, and only to
+ * clients holding the import key, since records name the customer they are written for.
+ */
+@RestController
+@ConditionalOnProperty(name = "feedback.import.enabled", havingValue = "true")
+@RequestMapping("/api/v1/feedback/import")
+public class FeedbackImportController {
+
+    private final FeedbackImportService feedbackImportService;
+
+    public FeedbackImportController(FeedbackImportService feedbackImportService) {
+        this.feedbackImportService = feedbackImportService;
+    }
+
+    /**
+     * Imports feedback from a newline-delimited JSON stream.
+     *
+     * @param ndjson The request body, one feedback record per line.
+     * @return Counts of imported and failed records with per-line errors.
+     */
+    @Operation(summary = "Bulk import feedback from NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import processed; see the per-record errors"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong X-Import-Key"),
+            @ApiResponse(responseCode = "415", description = "Body is not application/x-ndjson"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<FeedbackImportResultDTO> importFeedback(InputStream ndjson) {
+        return ResponseEntity.ok(feedbackImportService.importFeedback(ndjson));
+    }
+}
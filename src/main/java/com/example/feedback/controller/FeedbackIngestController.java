@@ -0,0 +1,72 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO;
+import com.example.feedback.service.FeedbackIngestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for asynchronous feedback submission, available when {@code feedback.ingest.enabled} is set.
+ */
+@RestController
+@RequestMapping("/api/v1/feedback/ingest")
+@ConditionalOnProperty(name = "feedback.ingest.enabled", havingValue = "true")
+public class FeedbackIngestController {
+
+    private final FeedbackIngestService feedbackIngestService;
+
+    public FeedbackIngestController(FeedbackIngestService feedbackIngestService) {
+        this.feedbackIngestService = feedbackIngestService;
+    }
+
+    /**
+     * Accepts feedback for an establishment without waiting for the database.
+     *
+     * @param feedbackDTO The feedback details provided by the user.
+     * @return 202 with the tracking id; the Location header points to its status.
+     */
+    @Operation(summary = "Submit feedback for asynchronous creation")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Feedback accepted; poll the Location for its outcome"),
+            @ApiResponse(responseCode = "400", description = "Validation error or invalid input data"),
+            @ApiResponse(responseCode = "503", description = "Too much feedback waiting to be written; retry later"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @PostMapping
+    public ResponseEntity<FeedbackIngestStatusDTO> submitFeedback(@Valid @RequestBody FeedbackDTO feedbackDTO) {
+        FeedbackIngestStatusDTO status = feedbackIngestService.submit(feedbackDTO);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{ingestId}")
+                .buildAndExpand(status.getIngestId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    /**
+     * Retrieves the outcome of an asynchronously submitted feedback.
+     *
+     * @param ingestId The tracking id returned on submission.
+     * @return PENDING, COMPLETED, or REJECTED with the reason.
+     */
+    @Operation(summary = "Retrieve the status of an asynchronously submitted feedback")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed tracking id"),
+            @ApiResponse(responseCode = "404", description = "Unknown tracking id or outcome past retention"),
+            @ApiResponse(responseCode = "500", description = "Unexpected internal server error")
+    })
+    @GetMapping("/{ingestId}")
+    public ResponseEntity<FeedbackIngestStatusDTO> getStatus(@PathVariable UUID ingestId) {
+        return ResponseEntity.ok(feedbackIngestService.getStatus(ingestId));
+    }
+}
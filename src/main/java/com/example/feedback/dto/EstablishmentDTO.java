@@ -0,0 +1,19 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of an establishment. Unlike the managed entity it can be cached and shared across threads.
+ */
+@Builder
+@Value
+public class EstablishmentDTO {
+    Long id;
+    String name;
+    String address;
+    String type;
+    LocalDateTime createTime;
+}
@@ -0,0 +1,13 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class EstablishmentFeedbackDTO {
+    private Long establishmentId;
+    private List<FeedbackResponseDTO> items; // Newest first; empty if the establishment has no feedback
+}
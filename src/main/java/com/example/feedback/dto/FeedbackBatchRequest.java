@@ -0,0 +1,24 @@
+package com.example.feedback.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Query parameters of a batch lookup of the latest feedback of several establishments.
+ */
+@Data
+public class FeedbackBatchRequest {
+    @NotEmpty
+    @Size(max = 200)
+    private List<@NotNull Long> establishmentIds; // Repeated or comma-separated; duplicates are answered once
+
+    @Min(1)
+    @Max(50)
+    private Integer size; // Feedbacks per establishment
+}
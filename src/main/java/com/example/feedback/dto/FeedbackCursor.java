@@ -0,0 +1,44 @@
+package com.example.feedback.dto;
+
+import com.example.feedback.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position within an establishment's feedback, ordered by {@code (createTime DESC, id DESC)}.
+ * Clients only ever see the encoded form, which is an opaque URL-safe string.
+ */
+public record FeedbackCursor(LocalDateTime createTime, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor The opaque cursor string.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException If the cursor is malformed.
+     */
+    public static FeedbackCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new FeedbackCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A feedback change as published to downstream consumers. Ids increase with the order events were recorded;
+ * delivery is at least once, so consumers should ignore ids they have already applied.
+ */
+@Builder
+@Data
+public class FeedbackEventDTO {
+    private Long id;
+    private Type type;
+    private Long feedbackId;
+    private Long establishmentId;
+    private Long customerId;
+    private int score;
+    private String title; // null for DELETED
+    private String textComment; // null for DELETED
+    private LocalDateTime createTime;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class FeedbackImportErrorDTO {
+    private long line; // 1-based line number in the NDJSON input
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.example.feedback.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One line of a bulk feedback import: a feedback submitted on behalf of an existing customer.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class FeedbackImportRecordDTO extends FeedbackDTO {
+    @NotNull
+    private Long customerId;
+}
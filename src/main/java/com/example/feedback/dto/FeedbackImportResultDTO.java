@@ -0,0 +1,16 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class FeedbackImportResultDTO {
+    private long total;
+    private long imported;
+    private long failed;
+    private List<FeedbackImportErrorDTO> errors; // At most feedback.import.max-reported-errors entries
+    private boolean errorsTruncated;
+}
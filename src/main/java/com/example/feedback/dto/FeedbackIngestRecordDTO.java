@@ -0,0 +1,15 @@
+package com.example.feedback.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.UUID;
+
+/**
+ * A feedback accepted for asynchronous ingestion, as stored in the local ingest log until it is written to the database.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class FeedbackIngestRecordDTO extends FeedbackImportRecordDTO {
+    private UUID ingestId;
+}
@@ -0,0 +1,20 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Builder
+@Data
+public class FeedbackIngestStatusDTO {
+    private UUID ingestId;
+    private Status status;
+    private String error; // Why the feedback was rejected; null unless REJECTED
+
+    public enum Status {
+        PENDING, // Accepted and durably logged, not yet written to the database
+        COMPLETED,
+        REJECTED
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class FeedbackPageDTO {
+    private List<FeedbackResponseDTO> items;
+    private String nextCursor; // null when there are no more pages
+}
@@ -1,10 +1,20 @@
 package com.example.feedback.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
+/**
+ * Feedback as returned to clients. The all-args constructor is used by JPQL constructor
+ * expressions in {@link com.example.feedback.repository.FeedbackRepository}, so the field order matters.
+ */
 @Builder
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class FeedbackResponseDTO {
     private Long id;
     private String title;
@@ -12,4 +22,5 @@ public class FeedbackResponseDTO {
     private int score;
     private String customerEmail;
     private String establishmentName;
+    private LocalDateTime createTime;
 }
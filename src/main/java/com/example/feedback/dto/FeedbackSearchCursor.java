@@ -0,0 +1,42 @@
+package com.example.feedback.dto;
+
+import com.example.feedback.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position within search results, ordered by {@code (rank DESC, id DESC)}. The rank is the exact
+ * {@code real} Postgres computed for the row, so it round-trips through the cursor without rounding.
+ */
+public record FeedbackSearchCursor(float rank, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor The opaque cursor string.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException If the cursor is malformed.
+     */
+    public static FeedbackSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new FeedbackSearchCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
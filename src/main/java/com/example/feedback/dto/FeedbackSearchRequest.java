@@ -0,0 +1,40 @@
+package com.example.feedback.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters of a feedback search. Only {@code q} is required; every other filter is optional.
+ */
+@Data
+public class FeedbackSearchRequest {
+    @NotBlank
+    @Size(max = 200)
+    private String q; // Keywords in web search syntax: quoted phrases, "or" and -excluded words
+
+    private Long establishmentId;
+
+    @Min(0)
+    @Max(10)
+    private Integer minScore;
+
+    @Min(0)
+    @Max(10)
+    private Integer maxScore;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from; // Inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to; // Exclusive
+
+    private String cursor;
+
+    private Integer size;
+}
@@ -0,0 +1,19 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One establishment on a leaderboard. Immutable, so a page of entries can be shared between requests.
+ */
+@Builder
+@Value
+public class LeaderboardEntryDTO {
+    int rank; // 1 for the best establishment of its type
+    Long establishmentId;
+    String name;
+    String type;
+    long reviewCount;
+    double mean; // plain mean score, 0..10
+    double score; // Bayesian average the ranking is based on
+}
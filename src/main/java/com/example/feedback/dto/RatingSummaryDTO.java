@@ -0,0 +1,13 @@
+package com.example.feedback.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class RatingSummaryDTO {
+    private Long establishmentId;
+    private long count;
+    private double mean;
+    private long[] histogram; // histogram[score] = number of reviews with that score, 0..10
+}
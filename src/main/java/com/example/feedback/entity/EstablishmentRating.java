@@ -0,0 +1,36 @@
+package com.example.feedback.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Rating aggregate of an establishment. Rows are only written through
+ * {@link com.example.feedback.repository.EstablishmentRatingRepository#applyDelta}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "establishment_rating")
+public class EstablishmentRating {
+    public static final int HISTOGRAM_BUCKETS = 11; // one bucket per score 0..10
+
+    @Id
+    @Column(name = "establishment_id")
+    private Long establishmentId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false, columnDefinition = "bigint[]")
+    private long[] histogram;
+
+    @Column(nullable = false)
+    private long version; // incremented by every applyDelta
+}
@@ -2,6 +2,8 @@ package com.example.feedback.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,6 +11,9 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,6 +23,12 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // Postgres SQLState of a unique constraint violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // A full connection bulkhead or pool usually drains within the acquire timeout
+    private static final Duration CONNECTION_RETRY_AFTER = Duration.ofSeconds(1);
+
     /**
      * Handles validation errors for request payloads.
      */
@@ -53,6 +64,52 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handles DataIntegrityViolationException. Only a unique constraint that lost a race with a concurrent request is a
+     * conflict; a foreign key, NOT NULL, CHECK or length violation means input that validation let through.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        SQLException sqlException = findCause(ex, SQLException.class);
+        if (sqlException == null || sqlException.getSQLState() == null) {
+            return handleRuntimeException(ex);
+        }
+        logger.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+        HttpStatus status = UNIQUE_VIOLATION.equals(sqlException.getSQLState())
+                ? HttpStatus.CONFLICT
+                : HttpStatus.BAD_REQUEST;
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status == HttpStatus.CONFLICT ? "Conflict" : "Bad Request")
+                .details(status == HttpStatus.CONFLICT
+                        ? "The request conflicts with existing data."
+                        : "The request violates a data constraint.")
+                .build();
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Handles ServiceOverloadedException (work shed under load); tells the client when to retry.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        logger.warn("Request shed: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .details(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
     /**
      * Handles SecurityException.
      */
@@ -83,6 +140,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles InvalidCursorException (malformed pagination cursor).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .details(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles IllegalArgumentException.
      */
@@ -99,10 +171,17 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Handles generic RuntimeExceptions.
+     * Handles generic RuntimeExceptions. No database connection being available in time is load shedding, not a
+     * failure: Spring and Hibernate wrap the connection timeout in their own exceptions, so it is found by cause.
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
+        SQLTransientConnectionException connectionUnavailable = findCause(ex, SQLTransientConnectionException.class);
+        if (connectionUnavailable != null) {
+            return handleServiceOverloadedException(
+                    new ServiceOverloadedException(connectionUnavailable.getMessage(), CONNECTION_RETRY_AFTER));
+        }
+
         logger.error("Unexpected error occurred", ex);
 
         ErrorResponse errorResponse = ErrorResponse.builder()
@@ -114,4 +193,13 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+
+    private static <T extends Throwable> T findCause(Throwable ex, Class<T> type) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
 }
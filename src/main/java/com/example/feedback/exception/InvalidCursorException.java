@@ -0,0 +1,10 @@
+package com.example.feedback.exception;
+
+/**
+ * Thrown when a pagination cursor supplied by the client cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.feedback.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+
+/**
+ * Whole-table reads of registered emails, for building in-memory indexes of them.
+ */
+@Repository
+public class CustomerEmailRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerEmailRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Estimates the number of customers from the planner statistics, without scanning the table.
+     *
+     * @return The estimate; 0 if the table has never been analyzed.
+     */
+    public long estimateCount() {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'customer'::regclass", Long.class);
+        return rows == null ? 0 : Math.max(0, rows);
+    }
+
+    /**
+     * Passes every registered email to the consumer, read from a server-side cursor. Must be called inside a
+     * transaction, otherwise the driver reads the whole result into memory first.
+     *
+     * @param consumer Receives each email, in no particular order.
+     */
+    public void forEachEmail(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT email FROM customer");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getString(1)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.entity.EstablishmentRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EstablishmentRatingRepository extends JpaRepository<EstablishmentRating, Long> {
+
+    /**
+     * Atomically adds a delta to an establishment's aggregate, creating the row on first use, and bumps its version.
+     * The histogram delta is a Postgres array literal such as {@code {0,0,1,0,0,0,0,0,0,0,0}}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO establishment_rating AS r (establishment_id, review_count, score_sum, histogram) " +
+            "VALUES (:establishmentId, :count, :scoreSum, CAST(:histogram AS BIGINT[])) " +
+            "ON CONFLICT (establishment_id) DO UPDATE SET " +
+            "review_count = r.review_count + EXCLUDED.review_count, " +
+            "score_sum = r.score_sum + EXCLUDED.score_sum, " +
+            "version = r.version + 1, " +
+            "histogram = ARRAY(SELECT a + b FROM unnest(r.histogram, EXCLUDED.histogram) WITH ORDINALITY AS t(a, b, i) ORDER BY i)",
+            nativeQuery = true)
+    int applyDelta(@Param("establishmentId") Long establishmentId,
+                   @Param("count") long count,
+                   @Param("scoreSum") long scoreSum,
+                   @Param("histogram") String histogram);
+
+    /**
+     * Bumps an establishment's version without changing its aggregate, e.g. when its name changes.
+     */
+    @Modifying
+    @Query("UPDATE EstablishmentRating r SET r.version = r.version + 1 WHERE r.establishmentId = :establishmentId")
+    int bumpVersion(@Param("establishmentId") Long establishmentId);
+
+    @Query("SELECT r.version FROM EstablishmentRating r WHERE r.establishmentId = :establishmentId")
+    Optional<Long> findVersionByEstablishmentId(@Param("establishmentId") Long establishmentId);
+
+    /**
+     * Reads every establishment with its review count and score sum, zero if it has no reviews, in one scan.
+     */
+    @Query(value = "SELECT e.id AS \"establishmentId\", e.name AS \"name\", e.type AS \"type\", " +
+            "COALESCE(r.review_count, 0) AS \"reviewCount\", COALESCE(r.score_sum, 0) AS \"scoreSum\" " +
+            "FROM establishment e LEFT JOIN establishment_rating r ON r.establishment_id = e.id",
+            nativeQuery = true)
+    List<EstablishmentStanding> findAllStandings();
+
+    /**
+     * Columns returned by {@link #findAllStandings}.
+     */
+    interface EstablishmentStanding {
+        Long getEstablishmentId();
+
+        String getName();
+
+        String getType();
+
+        long getReviewCount();
+
+        long getScoreSum();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.dto.FeedbackImportRecordDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based JDBC access for loading feedback in bulk. Each call is one round trip however many
+ * records it covers; callers are expected to supply the transaction.
+ */
+@Repository
+public class FeedbackBatchRepository {
+
+    private static final String INSERT_IGNORING_DUPLICATES =
+            "WITH inserted AS (" +
+                    "INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score) " +
+                    "SELECT * FROM unnest(?, ?, ?, ?, ?) " +
+                    "ON CONFLICT ON CONSTRAINT customer_establishment_unique DO NOTHING " +
+                    "RETURNING id, customer_id, establishment_id, title, text_comment, score), " +
+                    "event AS (" +
+                    "INSERT INTO feedback_event (event_type, feedback_id, establishment_id, customer_id, score, title, text_comment) " +
+                    "SELECT 'CREATED', id, establishment_id, customer_id, score, title, text_comment FROM inserted) " +
+                    "SELECT customer_id, establishment_id FROM inserted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedbackBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Identifies one feedback by its (customer, establishment) pair, the unique key of the table.
+     */
+    public record FeedbackKey(Long customerId, Long establishmentId) {
+    }
+
+    public Set<Long> findExistingCustomerIds(Collection<Long> ids) {
+        return findExistingIds("SELECT id FROM customer WHERE id = ANY(?)", ids);
+    }
+
+    public Set<Long> findExistingEstablishmentIds(Collection<Long> ids) {
+        return findExistingIds("SELECT id FROM establishment WHERE id = ANY(?)", ids);
+    }
+
+    /**
+     * Inserts all records in a single multi-row statement, skipping those that would violate
+     * {@code customer_establishment_unique}, and adds a {@code CREATED} outbox event for each inserted row.
+     *
+     * @param records The records to insert; customers and establishments must exist.
+     * @return The keys of the rows actually inserted.
+     */
+    public Set<FeedbackKey> insertIgnoringDuplicates(List<? extends FeedbackImportRecordDTO> records) {
+        Long[] customerIds = new Long[records.size()];
+        Long[] establishmentIds = new Long[records.size()];
+        String[] titles = new String[records.size()];
+        String[] textComments = new String[records.size()];
+        Integer[] scores = new Integer[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            FeedbackImportRecordDTO record = records.get(i);
+            customerIds[i] = record.getCustomerId();
+            establishmentIds[i] = record.getEstablishmentId();
+            titles[i] = record.getTitle();
+            textComments[i] = record.getTextComment();
+            scores[i] = record.getScore();
+        }
+
+        List<FeedbackKey> inserted = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_DUPLICATES);
+            statement.setArray(1, connection.createArrayOf("int8", customerIds));
+            statement.setArray(2, connection.createArrayOf("int8", establishmentIds));
+            statement.setArray(3, connection.createArrayOf("varchar", titles));
+            statement.setArray(4, connection.createArrayOf("varchar", textComments));
+            statement.setArray(5, connection.createArrayOf("int4", scores));
+            return statement;
+        }, (resultSet, rowNum) -> new FeedbackKey(resultSet.getLong("customer_id"), resultSet.getLong("establishment_id")));
+
+        return new HashSet<>(inserted);
+    }
+
+    private Set<Long> findExistingIds(String sql, Collection<Long> ids) {
+        Long[] idArray = ids.toArray(Long[]::new);
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("int8", idArray));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.dto.FeedbackEventDTO;
+import com.example.feedback.dto.FeedbackEventDTO.Type;
+import com.example.feedback.entity.Feedback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code feedback_event} outbox. Created events are written by the feedback insert
+ * statements themselves (see {@link FeedbackRepository#insertIfAbsent} and
+ * {@link FeedbackBatchRepository#insertIgnoringDuplicates}); callers are expected to supply the transaction.
+ */
+@Repository
+public class FeedbackEventRepository {
+
+    /**
+     * Advisory lock key held by the relaying transaction; the value only has to differ from other advisory locks.
+     */
+    public static final long RELAY_LOCK = 0x46424556L;
+
+    private static final String CLAIM_BATCH =
+            "DELETE FROM feedback_event WHERE id IN (" +
+                    "SELECT id FROM feedback_event ORDER BY id LIMIT ?) " +
+                    "RETURNING id, event_type, feedback_id, establishment_id, customer_id, score, title, text_comment, create_time";
+
+    private static final RowMapper<FeedbackEventDTO> EVENT_MAPPER = (resultSet, rowNum) -> FeedbackEventDTO.builder()
+            .id(resultSet.getLong("id"))
+            .type(Type.valueOf(resultSet.getString("event_type")))
+            .feedbackId(resultSet.getLong("feedback_id"))
+            .establishmentId(resultSet.getLong("establishment_id"))
+            .customerId(resultSet.getLong("customer_id"))
+            .score(resultSet.getInt("score"))
+            .title(resultSet.getString("title"))
+            .textComment(resultSet.getString("text_comment"))
+            .createTime(resultSet.getTimestamp("create_time").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedbackEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void recordDeleted(Feedback feedback) {
+        jdbcTemplate.update("INSERT INTO feedback_event (event_type, feedback_id, establishment_id, customer_id, score) " +
+                        "VALUES ('DELETED', ?, ?, ?, ?)",
+                feedback.getId(), feedback.getEstablishment().getId(), feedback.getCustomer().getId(), feedback.getScore());
+    }
+
+    /**
+     * Takes the relay lock for the rest of the current transaction, unless another transaction holds it.
+     *
+     * @return Whether the lock was taken.
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                RELAY_LOCK));
+    }
+
+    /**
+     * Removes up to {@code limit} of the oldest events and returns them in id order. The rows come back if the
+     * transaction rolls back. Callers must hold {@link #tryLockRelay() the relay lock}, or two relays could claim
+     * the same rows.
+     */
+    public List<FeedbackEventDTO> claimBatch(int limit) {
+        List<FeedbackEventDTO> events = jdbcTemplate.query(CLAIM_BATCH, EVENT_MAPPER, limit);
+        // RETURNING does not preserve the order of the subquery
+        return events.stream().sorted(Comparator.comparing(FeedbackEventDTO::getId)).toList();
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.feedback.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable append-only log of opaque records, stored in fixed-size memory-mapped segment files.
+ * <p>
+ * Each record is written as {@code [int length][int crc32c][payload]}; a zero length marks the end of the
+ * written part of a segment. A single consumer reads records after the committed position and commits once
+ * it has processed them; the committed position is kept in a small checkpoint file, and segments entirely
+ * before it are deleted. On open, records after the checkpoint are recovered, and a torn or corrupt tail
+ * left by a crash is discarded.
+ * <p>
+ * Appends may come from any thread; reads and commits must come from one consumer at a time.
+ */
+public class FeedbackIngestLog implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final Object flushLock = new Object();
+
+    private long writeSegment;
+    private int writeOffset;
+    private Position committed;
+    // Everything before it is on the storage device; guarded by flushLock
+    private Position durable;
+
+    /**
+     * A position between two records: the segment and the byte offset within it.
+     */
+    public record Position(long segment, int offset) {
+    }
+
+    /**
+     * A record payload and the position right after it, to commit once the payload has been processed.
+     */
+    public record Entry(byte[] payload, Position next) {
+    }
+
+    /**
+     * Opens the log in {@code directory}, creating it if needed and recovering any records after the checkpoint.
+     *
+     * @param directory     The directory holding the segment and checkpoint files.
+     * @param segmentSize   The size of each segment file in bytes; bounds the size of a single record.
+     * @param forceOnAppend Whether each append, and every append before it, is flushed to the storage device
+     *                      before it returns.
+     */
+    public FeedbackIngestLog(Path directory, int segmentSize, boolean forceOnAppend) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                        long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                                name.length() - SEGMENT_SUFFIX.length()));
+                        segments.put(sequence, map(sequence));
+                    }
+                }
+            }
+            committed = readCheckpoint();
+            if (segments.isEmpty() || committed.segment() > segments.lastKey()) {
+                segments.put(committed.segment(), map(committed.segment()));
+            }
+            deleteSegmentsBefore(committed.segment());
+            recoverWritePosition();
+            durable = new Position(writeSegment, writeOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ingest log in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param payload The record, at most the segment size minus two headers.
+     * @return The position of the record.
+     * @throws IllegalArgumentException If the payload does not fit in a segment.
+     */
+    public Position append(byte[] payload) {
+        if (payload.length == 0 || payload.length > segmentSize - 2 * HEADER_BYTES) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a segment");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        long segment;
+        int offset;
+        synchronized (this) {
+            // Always leave room for the zero length that terminates the segment
+            if (writeOffset + 2 * HEADER_BYTES + payload.length > segmentSize) {
+                writeSegment++;
+                writeOffset = 0;
+                segments.put(writeSegment, map(writeSegment));
+            }
+            MappedByteBuffer buffer = segments.get(writeSegment);
+            segment = writeSegment;
+            offset = writeOffset;
+            buffer.put(offset + HEADER_BYTES, payload);
+            buffer.putInt(offset + 4, (int) crc.getValue());
+            // The length goes last: until it is set, readers see the end of the segment
+            buffer.putInt(offset, payload.length);
+            writeOffset += HEADER_BYTES + payload.length;
+        }
+        if (forceOnAppend) {
+            forceThrough(new Position(segment, offset + HEADER_BYTES + payload.length));
+        }
+        return new Position(segment, offset);
+    }
+
+    /**
+     * Flushes everything appended so far, from the durable position on, unless an earlier flush already
+     * covered {@code end}. Recovery stops at the first missing record, so a record may only be acknowledged
+     * once every record before it is on the device too. Appends that wait here while another flush runs are
+     * usually covered by it, so concurrent appends share the wait for the device; appending is not blocked.
+     */
+    private void forceThrough(Position end) {
+        synchronized (flushLock) {
+            if (!isBefore(durable, end)) {
+                return;
+            }
+            Position target;
+            List<Map.Entry<Long, MappedByteBuffer>> pending;
+            synchronized (this) {
+                // Every byte before the write position is complete, including those of later appends
+                target = new Position(writeSegment, writeOffset);
+                // Segments a commit deleted in the meantime were processed already and need no flush
+                pending = List.copyOf(segments.subMap(durable.segment(), true, target.segment(), true).entrySet());
+            }
+            for (Map.Entry<Long, MappedByteBuffer> segment : pending) {
+                int from = segment.getKey() == durable.segment() ? durable.offset() : 0;
+                int to = segment.getKey() == target.segment() ? target.offset() : segmentSize;
+                if (to > from) {
+                    segment.getValue().force(from, to - from);
+                }
+            }
+            durable = target;
+        }
+    }
+
+    private static boolean isBefore(Position position, Position other) {
+        return position.segment() < other.segment()
+                || position.segment() == other.segment() && position.offset() < other.offset();
+    }
+
+    /**
+     * Reads up to {@code max} records following the committed position.
+     */
+    public synchronized List<Entry> read(int max) {
+        List<Entry> entries = new ArrayList<>();
+        Position position = committed;
+        while (entries.size() < max) {
+            MappedByteBuffer buffer = segments.get(position.segment());
+            Entry entry = buffer == null ? null : readEntry(buffer, position);
+            if (entry != null) {
+                entries.add(entry);
+                position = entry.next();
+            } else if (position.segment() < writeSegment) {
+                position = new Position(position.segment() + 1, 0);
+            } else {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Visits every record following the committed position, e.g. to rebuild state after a restart.
+     */
+    public synchronized void forEachUncommitted(Consumer<byte[]> consumer) {
+        Position saved = committed;
+        List<Entry> entries;
+        while (!(entries = read(1_000)).isEmpty()) {
+            entries.forEach(entry -> consumer.accept(entry.payload()));
+            committed = entries.get(entries.size() - 1).next();
+        }
+        committed = saved;
+    }
+
+    /**
+     * Marks every record before {@code position} as processed and deletes segments no longer needed.
+     */
+    public synchronized void commit(Position position) {
+        writeCheckpoint(position);
+        committed = position;
+        deleteSegmentsBefore(Math.min(position.segment(), writeSegment));
+    }
+
+    /**
+     * The number of segment files currently on disk, a measure of the backlog not yet committed.
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        segments.values().forEach(MappedByteBuffer::force);
+    }
+
+    private Entry readEntry(MappedByteBuffer buffer, Position position) {
+        int offset = position.offset();
+        if (offset + HEADER_BYTES > segmentSize) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER_BYTES + length > segmentSize) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return null;
+        }
+        return new Entry(payload, new Position(position.segment(), offset + HEADER_BYTES + length));
+    }
+
+    /**
+     * Finds the end of the valid records in the last segment and clears the rest of it, so that the next
+     * append follows the last complete record and no fragment of a torn write can be read after it.
+     */
+    private void recoverWritePosition() {
+        writeSegment = segments.lastKey();
+        MappedByteBuffer buffer = segments.get(writeSegment);
+        Position position = new Position(writeSegment, writeSegment == committed.segment() ? committed.offset() : 0);
+        Entry entry;
+        while ((entry = readEntry(buffer, position)) != null) {
+            position = entry.next();
+        }
+        writeOffset = position.offset();
+        byte[] zeros = new byte[Math.min(segmentSize - writeOffset, 64 * 1024)];
+        for (int offset = writeOffset; offset < segmentSize; offset += zeros.length) {
+            buffer.put(offset, zeros, 0, Math.min(zeros.length, segmentSize - offset));
+        }
+        buffer.force();
+    }
+
+    private MappedByteBuffer map(long sequence) {
+        Path file = directory.resolve(SEGMENT_PREFIX + String.format("%020d", sequence) + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map ingest log segment " + file, e);
+        }
+    }
+
+    private void deleteSegmentsBefore(long sequence) {
+        Map<Long, MappedByteBuffer> obsolete = segments.headMap(sequence);
+        for (Long old : List.copyOf(obsolete.keySet())) {
+            try {
+                Files.deleteIfExists(directory.resolve(SEGMENT_PREFIX + String.format("%020d", old) + SEGMENT_SUFFIX));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete ingest log segment " + old, e);
+            }
+            segments.remove(old);
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            return new Position(segments.isEmpty() ? 0 : segments.firstKey(), 0);
+        }
+        String[] parts = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+        return new Position(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    private void writeCheckpoint(Position position) {
+        Path file = directory.resolve(CHECKPOINT);
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(position.segment() + " " + position.offset()));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write ingest log checkpoint", e);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write ingest log checkpoint", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.dto.FeedbackIngestStatusDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code feedback_ingest}, the recorded outcome of each asynchronously ingested feedback.
+ * Writes are set-based, one round trip per batch; callers are expected to supply the transaction.
+ */
+@Repository
+public class FeedbackIngestRepository {
+
+    private static final String INSERT_OUTCOMES =
+            "INSERT INTO feedback_ingest (ingest_id, status, error) " +
+                    "SELECT * FROM unnest(?, ?, ?) " +
+                    "ON CONFLICT (ingest_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedbackIngestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<UUID> findRecordedIds(Collection<UUID> ingestIds) {
+        UUID[] idArray = ingestIds.toArray(UUID[]::new);
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT ingest_id FROM feedback_ingest WHERE ingest_id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("uuid", idArray));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getObject(1, UUID.class)));
+    }
+
+    public Optional<FeedbackIngestStatusDTO> findById(UUID ingestId) {
+        return jdbcTemplate.query("SELECT ingest_id, status, error FROM feedback_ingest WHERE ingest_id = ?",
+                (resultSet, rowNum) -> FeedbackIngestStatusDTO.builder()
+                        .ingestId(resultSet.getObject("ingest_id", UUID.class))
+                        .status(Status.valueOf(resultSet.getString("status")))
+                        .error(resultSet.getString("error"))
+                        .build(),
+                ingestId).stream().findFirst();
+    }
+
+    /**
+     * Records the outcomes in a single statement; outcomes already recorded are left unchanged.
+     */
+    public void insertOutcomes(List<FeedbackIngestStatusDTO> outcomes) {
+        UUID[] ids = new UUID[outcomes.size()];
+        String[] statuses = new String[outcomes.size()];
+        String[] errors = new String[outcomes.size()];
+        for (int i = 0; i < outcomes.size(); i++) {
+            ids[i] = outcomes.get(i).getIngestId();
+            statuses[i] = outcomes.get(i).getStatus().name();
+            errors[i] = outcomes.get(i).getError();
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_OUTCOMES);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("varchar", statuses));
+            statement.setArray(3, connection.createArrayOf("varchar", errors));
+            return statement;
+        });
+    }
+
+    public int deleteCompletedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM feedback_ingest WHERE complete_time < ?", Timestamp.valueOf(cutoff));
+    }
+}
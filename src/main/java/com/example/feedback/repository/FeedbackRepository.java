@@ -1,14 +1,88 @@
 package com.example.feedback.repository;
 
+import com.example.feedback.dto.FeedbackResponseDTO;
 import com.example.feedback.entity.Feedback;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
+/**
+ * Read paths return {@link FeedbackResponseDTO} projections built in a single join query,
+ * so listing N reviews costs one statement instead of loading customer and establishment per row.
+ */
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findByEstablishmentId(Long restaurantId);
+    String RESPONSE_PROJECTION = "SELECT new com.example.feedback.dto.FeedbackResponseDTO(" +
+            "f.id, f.title, f.textComment, f.score, c.email, e.name, f.createTime) " +
+            "FROM Feedback f JOIN f.customer c JOIN f.establishment e ";
 
-    boolean existsByCustomerIdAndEstablishmentId(Long customerId, Long establishmentId);
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :establishmentId")
+    List<FeedbackResponseDTO> findResponsesByEstablishmentId(@Param("establishmentId") Long establishmentId);
 
     Optional<Feedback> findByIdAndCustomerId(Long id, Long customerId);
+
+    /**
+     * Inserts a feedback and its {@code CREATED} outbox event in one round trip unless the establishment does
+     * not exist or the customer has already reviewed it; concurrent duplicates are resolved by
+     * {@code customer_establishment_unique}.
+     *
+     * @return The created row, or empty if nothing was inserted.
+     */
+    @Query(value = "WITH inserted AS (" +
+            "INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score) " +
+            "SELECT :customerId, e.id, CAST(:title AS VARCHAR), CAST(:textComment AS VARCHAR), :score " +
+            "FROM establishment e WHERE e.id = :establishmentId " +
+            "ON CONFLICT ON CONSTRAINT customer_establishment_unique DO NOTHING " +
+            "RETURNING id, customer_id, establishment_id, title, text_comment, score, create_time), " +
+            "event AS (" +
+            "INSERT INTO feedback_event (event_type, feedback_id, establishment_id, customer_id, score, title, text_comment) " +
+            "SELECT 'CREATED', id, establishment_id, customer_id, score, title, text_comment FROM inserted) " +
+            "SELECT i.id AS \"id\", i.create_time AS \"createTime\", e.name AS \"establishmentName\" " +
+            "FROM inserted i JOIN establishment e ON e.id = i.establishment_id",
+            nativeQuery = true)
+    Optional<CreatedFeedback> insertIfAbsent(@Param("customerId") Long customerId,
+                                             @Param("establishmentId") Long establishmentId,
+                                             @Param("title") String title,
+                                             @Param("textComment") String textComment,
+                                             @Param("score") int score);
+
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :establishmentId " +
+            "ORDER BY f.createTime DESC, f.id DESC")
+    List<FeedbackResponseDTO> findFirstPage(@Param("establishmentId") Long establishmentId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :establishmentId " +
+            "AND (f.createTime < :createTime OR (f.createTime = :createTime AND f.id < :id)) " +
+            "ORDER BY f.createTime DESC, f.id DESC")
+    List<FeedbackResponseDTO> findPageAfter(@Param("establishmentId") Long establishmentId,
+                                            @Param("createTime") LocalDateTime createTime,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    /**
+     * Streams feedback from a server-side cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :establishmentId " +
+            "ORDER BY f.createTime DESC, f.id DESC")
+    Stream<FeedbackResponseDTO> streamByEstablishmentId(@Param("establishmentId") Long establishmentId);
+
+    /**
+     * Columns returned by {@link #insertIfAbsent}.
+     */
+    interface CreatedFeedback {
+        Long getId();
+
+        LocalDateTime getCreateTime();
+
+        String getEstablishmentName();
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.FeedbackSearchCursor;
+import com.example.feedback.dto.FeedbackSearchRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Ranked full-text search over feedback titles and comments, backed by the GIN-indexed
+ * {@code feedback.search_vector} column. The statement only contains the filters that were actually
+ * given, so Postgres plans each combination on its own instead of around {@code IS NULL} branches.
+ */
+@Repository
+public class FeedbackSearchRepository {
+
+    private static final String SELECT_MATCHES =
+            "SELECT f.id, f.title, f.text_comment, f.score, c.email, e.name, f.create_time, " +
+                    "ts_rank_cd(f.search_vector, q.query) AS rank " +
+                    "FROM feedback f " +
+                    "CROSS JOIN websearch_to_tsquery('english', :query) AS q(query) " +
+                    "JOIN customer c ON c.id = f.customer_id " +
+                    "JOIN establishment e ON e.id = f.establishment_id " +
+                    "WHERE f.search_vector @@ q.query";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public FeedbackSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Feedback matching a search, with the rank it was ordered by.
+     */
+    public record RankedFeedback(FeedbackResponseDTO feedback, float rank) {
+    }
+
+    /**
+     * Returns matching feedback, best match first.
+     *
+     * @param request The keywords and filters; paging fields are ignored.
+     * @param after   The position to continue after, or {@code null} for the first page.
+     * @param limit   The maximum number of rows to return.
+     * @return The matches in {@code (rank DESC, id DESC)} order.
+     */
+    public List<RankedFeedback> search(FeedbackSearchRequest request, FeedbackSearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_MATCHES);
+        MapSqlParameterSource parameters = new MapSqlParameterSource("query", request.getQ());
+
+        if (request.getEstablishmentId() != null) {
+            sql.append(" AND f.establishment_id = :establishmentId");
+            parameters.addValue("establishmentId", request.getEstablishmentId());
+        }
+        if (request.getMinScore() != null) {
+            sql.append(" AND f.score >= :minScore");
+            parameters.addValue("minScore", request.getMinScore());
+        }
+        if (request.getMaxScore() != null) {
+            sql.append(" AND f.score <= :maxScore");
+            parameters.addValue("maxScore", request.getMaxScore());
+        }
+        if (request.getFrom() != null) {
+            sql.append(" AND f.create_time >= :from");
+            parameters.addValue("from", request.getFrom());
+        }
+        if (request.getTo() != null) {
+            sql.append(" AND f.create_time < :to");
+            parameters.addValue("to", request.getTo());
+        }
+        if (after != null) {
+            sql.append(" AND (ts_rank_cd(f.search_vector, q.query), f.id) < (:afterRank, :afterId)");
+            parameters.addValue("afterRank", after.rank());
+            parameters.addValue("afterId", after.id());
+        }
+        sql.append(" ORDER BY rank DESC, f.id DESC LIMIT :limit");
+        parameters.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), parameters, (resultSet, rowNum) -> new RankedFeedback(
+                new FeedbackResponseDTO(
+                        resultSet.getLong("id"),
+                        resultSet.getString("title"),
+                        resultSet.getString("text_comment"),
+                        resultSet.getInt("score"),
+                        resultSet.getString("email"),
+                        resultSet.getString("name"),
+                        resultSet.getTimestamp("create_time").toLocalDateTime()),
+                resultSet.getFloat("rank")));
+    }
+}
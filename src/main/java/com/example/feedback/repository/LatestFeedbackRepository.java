@@ -0,0 +1,69 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.dto.FeedbackResponseDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Latest feedback of many establishments in one round trip. The ids are bound as a single array, so the
+ * statement text, and with it the server-side prepared statement, is the same however many are asked for.
+ * A lateral join walks {@code idx_feedback_establishment_time} once per establishment and stops after the
+ * requested number of rows, instead of reading all feedback of every establishment.
+ */
+@Repository
+public class LatestFeedbackRepository {
+
+    private static final String SELECT_LATEST =
+            "SELECT e.id AS establishment_id, f.id, f.title, f.text_comment, f.score, c.email, e.name, f.create_time " +
+                    "FROM establishment e " +
+                    "CROSS JOIN LATERAL (" +
+                    "SELECT id, customer_id, title, text_comment, score, create_time FROM feedback " +
+                    "WHERE establishment_id = e.id " +
+                    "ORDER BY create_time DESC, id DESC " +
+                    "LIMIT ?) f " +
+                    "JOIN customer c ON c.id = f.customer_id " +
+                    "WHERE e.id = ANY(?) " +
+                    "ORDER BY e.id, f.create_time DESC, f.id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LatestFeedbackRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A feedback with the establishment it belongs to.
+     */
+    public record EstablishmentFeedback(Long establishmentId, FeedbackResponseDTO feedback) {
+    }
+
+    /**
+     * Returns up to {@code perEstablishment} of the newest feedbacks of each establishment.
+     *
+     * @param establishmentIds The establishments; unknown ids and ones without feedback contribute no rows.
+     * @param perEstablishment The maximum number of feedbacks per establishment.
+     * @return The feedbacks grouped by establishment id, newest first within each establishment.
+     */
+    public List<EstablishmentFeedback> findLatest(Collection<Long> establishmentIds, int perEstablishment) {
+        Long[] idArray = establishmentIds.toArray(Long[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_LATEST);
+            statement.setInt(1, perEstablishment);
+            statement.setArray(2, connection.createArrayOf("int8", idArray));
+            return statement;
+        }, (resultSet, rowNum) -> new EstablishmentFeedback(
+                resultSet.getLong("establishment_id"),
+                new FeedbackResponseDTO(
+                        resultSet.getLong("id"),
+                        resultSet.getString("title"),
+                        resultSet.getString("text_comment"),
+                        resultSet.getInt("score"),
+                        resultSet.getString("email"),
+                        resultSet.getString("name"),
+                        resultSet.getTimestamp("create_time").toLocalDateTime())));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.EstablishmentDTO;
+
+/**
+ * Published when an establishment is created or updated; delivered to transactional listeners once the change
+ * has committed.
+ *
+ * @param establishment The establishment as saved.
+ */
+public record EstablishmentChangedEvent(EstablishmentDTO establishment) {
+}
@@ -0,0 +1,15 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.RatingSummaryDTO;
+
+public interface EstablishmentRatingService {
+    void recordScore(Long establishmentId, int score);
+
+    void removeScore(Long establishmentId, int score);
+
+    void recordScores(Long establishmentId, long[] histogram);
+
+    RatingSummaryDTO getSummary(Long establishmentId);
+
+    long getVersion(Long establishmentId);
+}
@@ -1,13 +1,14 @@
 package com.example.feedback.service;
 
+import com.example.feedback.dto.EstablishmentDTO;
 import com.example.feedback.entity.Establishment;
 
 import java.util.List;
 
 public interface EstablishmentService {
-    Establishment findById(Long id);
+    EstablishmentDTO findById(Long id);
 
-    List<Establishment> findByType(String type);
+    List<EstablishmentDTO> findByType(String type);
 
     Establishment save(Establishment establishment);
 }
@@ -0,0 +1,9 @@
+package com.example.feedback.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface FeedbackEventService {
+    int relay();
+
+    SseEmitter subscribe(Long establishmentId);
+}
@@ -0,0 +1,16 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.FeedbackEventDTO;
+
+import java.util.List;
+
+/**
+ * Destination of feedback change events relayed from the outbox. Every sink bean receives every batch.
+ * <p>
+ * {@link #publish} runs inside the relay's transaction: returning normally hands the batch over for good,
+ * while throwing rolls the batch back into the outbox to be published again, to every sink, on the next run.
+ * Implementations should therefore be idempotent per event id and must not block for long.
+ */
+public interface FeedbackEventSink {
+    void publish(List<FeedbackEventDTO> events);
+}
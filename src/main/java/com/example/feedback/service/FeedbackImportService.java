@@ -0,0 +1,9 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.FeedbackImportResultDTO;
+
+import java.io.InputStream;
+
+public interface FeedbackImportService {
+    FeedbackImportResultDTO importFeedback(InputStream ndjson);
+}
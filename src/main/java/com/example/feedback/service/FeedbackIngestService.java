@@ -0,0 +1,14 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO;
+
+import java.util.UUID;
+
+public interface FeedbackIngestService {
+    FeedbackIngestStatusDTO submit(FeedbackDTO feedbackDTO);
+
+    FeedbackIngestStatusDTO getStatus(UUID ingestId);
+
+    int drain();
+}
@@ -1,13 +1,26 @@
 package com.example.feedback.service;
 
+import com.example.feedback.dto.EstablishmentFeedbackDTO;
+import com.example.feedback.dto.FeedbackBatchRequest;
 import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackPageDTO;
 import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.FeedbackSearchRequest;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FeedbackService {
     List<FeedbackResponseDTO> findByEstablishmentId(Long establishmentId);
 
+    FeedbackPageDTO findPageByEstablishmentId(Long establishmentId, String cursor, Integer size);
+
+    List<EstablishmentFeedbackDTO> findLatestByEstablishmentIds(FeedbackBatchRequest request);
+
+    FeedbackPageDTO search(FeedbackSearchRequest request);
+
+    void streamByEstablishmentId(Long establishmentId, Consumer<FeedbackResponseDTO> consumer);
+
     FeedbackResponseDTO createFeedback(FeedbackDTO feedbackDTO);
 
     void deleteFeedbackForAuthenticatedCustomer(Long feedbackId);
@@ -0,0 +1,11 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.LeaderboardEntryDTO;
+
+import java.util.List;
+
+public interface LeaderboardService {
+    List<LeaderboardEntryDTO> findTop(String type, Integer size);
+
+    void rebuild();
+}
@@ -0,0 +1,12 @@
+package com.example.feedback.service;
+
+/**
+ * Published when feedback is added to or removed from an establishment's rating aggregate; delivered to
+ * transactional listeners once the change has committed.
+ *
+ * @param establishmentId  The ID of the establishment.
+ * @param reviewCountDelta Reviews added, or removed if negative.
+ * @param scoreSumDelta    Change in the sum of scores.
+ */
+public record RatingChangedEvent(Long establishmentId, long reviewCountDelta, long scoreSumDelta) {
+}
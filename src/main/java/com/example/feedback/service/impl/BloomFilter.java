@@ -0,0 +1,99 @@
+package com.example.feedback.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter of strings: concurrent adds set bits with compare-and-set, and lookups never block.
+ * The {@code k} bit positions of a value are derived from two 64-bit hashes as {@code h1 + i * h2}.
+ */
+final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    /**
+     * Sizes the filter so that it holds {@code expectedInsertions} values at the given false-positive rate.
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(1, expectedInsertions);
+        double optimalBits = -insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE)));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    void add(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 + GOLDEN_GAMMA);
+        for (int i = 0; i < hashCount; i++) {
+            set(Math.floorMod(hash1 + i * hash2, bitCount));
+        }
+    }
+
+    /**
+     * @return {@code false} if the value was definitely never added; {@code true} if it probably was.
+     */
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 + GOLDEN_GAMMA);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the false-positive rate from the share of bits set, which accounts for duplicates and for
+     * more insertions than the filter was sized for.
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private void set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        setBits.incrementAndGet();
+    }
+
+    // FNV-1a over the UTF-16 code units, so hashing allocates nothing, then a SplitMix64 finalizer to spread it
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,56 +1,50 @@
 package com.example.feedback.service.impl;
 
+import com.example.feedback.config.JwtTokenProvider;
+import com.example.feedback.config.MetricsConfig;
+import com.example.feedback.config.PasswordHashingExecutor;
 import com.example.feedback.dto.LoginResponseDTO;
 import com.example.feedback.dto.SignupResponseDTO;
 import com.example.feedback.dto.CustomerDTO;
 import com.example.feedback.entity.Customer;
 import com.example.feedback.repository.CustomerRepository;
 import com.example.feedback.service.CustomerService;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.spec.SecretKeySpec;
-import java.security.Key;
-import java.util.Base64;
-import java.util.Date;
 import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
-    private final PasswordEncoder passwordEncoder;
-
-    @Value("${spring.security.jwt.secret-key}")
-    private String jwtSecretKey;
-
-    @Value("${spring.security.jwt.expiration-time}") // Default: 24 hours in milliseconds
-    private long jwtExpirationTime;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     /**
      * Authenticates a user and generates a JWT token upon successful login.
+     * Not transactional: the password check runs on the hashing pool after the lookup's connection is returned.
      *
      * @param customerDto The login credentials provided by the user.
      * @return A {@link LoginResponseDTO} containing the generated JWT token.
      * @throws IllegalArgumentException If the email is not found.
      * @throws SecurityException        If the password is invalid.
+     * @throws com.example.feedback.exception.ServiceOverloadedException If too many logins are in progress.
      */
     @Override
-    @Transactional
     public LoginResponseDTO login(CustomerDTO customerDto) {
         Customer customer = customerRepository.findByEmail(customerDto.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("Email not found"));
 
-        if (!passwordEncoder.matches(customerDto.getPassword(), customer.getPassword())) {
+        if (!passwordHashingExecutor.matches(customerDto.getPassword(), customer.getPassword())) {
             throw new SecurityException("Invalid email or password");
         }
 
-        String token = generateToken(customer);
+        String token = jwtTokenProvider.generateToken(customer);
 
         return LoginResponseDTO.builder()
                 .token(token)
@@ -59,42 +53,41 @@ public class CustomerServiceImpl implements CustomerService {
 
     /**
      * Registers a new user with the provided details.
+     * Not transactional: the password is hashed without holding a connection, and the unique email constraint
+     * turns a concurrent duplicate registration into a conflict. The existence check is skipped for emails the
+     * {@link RegisteredEmailFilter} has never seen; the constraint catches those registered elsewhere meanwhile.
      *
      * @param customerDto The user details for registration.
      * @return A {@link SignupResponseDTO} containing the registered user's information.
      * @throws IllegalStateException If the email is already registered.
+     * @throws com.example.feedback.exception.ServiceOverloadedException If too many signups are in progress.
      */
     @Override
-    @Transactional
     public SignupResponseDTO saveUser(CustomerDTO customerDto) {
-        customerRepository.findByEmail(customerDto.getEmail())
-                .ifPresent(customer -> {
-                    throw new IllegalStateException("Email already registered");
-                });
+        if (registeredEmailFilter.mightContain(customerDto.getEmail())) {
+            if (customerRepository.findByEmail(customerDto.getEmail()).isPresent()) {
+                throw new IllegalStateException("Email already registered");
+            }
+            registeredEmailFilter.recordFalsePositive();
+        }
 
         Customer customer = new Customer();
         customer.setEmail(customerDto.getEmail());
-        customer.setPassword(passwordEncoder.encode(customerDto.getPassword()));
+        customer.setPassword(passwordHashingExecutor.encode(customerDto.getPassword()));
+
+        Customer saved;
+        try {
+            saved = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Email already registered");
+        }
+        registeredEmailFilter.add(saved.getEmail());
 
-        return Optional.of(customerRepository.save(customer))
+        return Optional.of(saved)
                 .map(u -> SignupResponseDTO.builder()
                         .id(u.getId())
                         .email(u.getEmail())
                         .build())
                 .orElseThrow(() -> new RuntimeException("Error occurred while saving user"));
     }
-
-    private String generateToken(Customer customer) {
-        // Convert secret key to Key object
-        byte[] keyBytes = Base64.getDecoder().decode(jwtSecretKey);
-        Key key = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS512.getJcaName());
-
-        // Generate token
-        return Jwts.builder()
-                .setSubject(customer.getEmail())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationTime))
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
-    }
 }
@@ -0,0 +1,127 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.dto.RatingSummaryDTO;
+import com.example.feedback.entity.EstablishmentRating;
+import com.example.feedback.repository.EstablishmentRatingRepository;
+import com.example.feedback.service.EstablishmentRatingService;
+import com.example.feedback.service.EstablishmentService;
+import com.example.feedback.service.RatingChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for establishment rating aggregates.
+ * Updates join the caller's transaction so the aggregate commits or rolls back with the feedback change,
+ * and publish a {@link RatingChangedEvent} for listeners that keep derived state, such as the leaderboard.
+ */
+@Service
+public class EstablishmentRatingServiceImpl implements EstablishmentRatingService {
+
+    private final EstablishmentRatingRepository establishmentRatingRepository;
+    private final EstablishmentService establishmentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EstablishmentRatingServiceImpl(EstablishmentRatingRepository establishmentRatingRepository,
+                                          EstablishmentService establishmentService,
+                                          ApplicationEventPublisher eventPublisher) {
+        this.establishmentRatingRepository = establishmentRatingRepository;
+        this.establishmentService = establishmentService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Adds one review with the given score to the establishment's aggregate.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @param score           The score of the new review, 0..10.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordScore(Long establishmentId, int score) {
+        recordScores(establishmentId, singleScore(score, 1));
+    }
+
+    /**
+     * Removes one review with the given score from the establishment's aggregate.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @param score           The score of the removed review, 0..10.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeScore(Long establishmentId, int score) {
+        recordScores(establishmentId, singleScore(score, -1));
+    }
+
+    /**
+     * Applies a histogram delta to the establishment's aggregate; count and sum are derived from it.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @param histogram       Reviews added (or, if negative, removed) per score 0..10.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordScores(Long establishmentId, long[] histogram) {
+        long count = 0;
+        long scoreSum = 0;
+        StringBuilder literal = new StringBuilder("{");
+        for (int score = 0; score < histogram.length; score++) {
+            count += histogram[score];
+            scoreSum += score * histogram[score];
+            if (score > 0) {
+                literal.append(',');
+            }
+            literal.append(histogram[score]);
+        }
+        establishmentRatingRepository.applyDelta(establishmentId, count, scoreSum, literal.append('}').toString());
+        eventPublisher.publishEvent(new RatingChangedEvent(establishmentId, count, scoreSum));
+    }
+
+    /**
+     * Retrieves the rating summary of an establishment.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @return The review count, mean score and score histogram.
+     * @throws IllegalArgumentException If the establishment is not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RatingSummaryDTO getSummary(Long establishmentId) {
+        return establishmentRatingRepository.findById(establishmentId)
+                .map(rating -> RatingSummaryDTO.builder()
+                        .establishmentId(establishmentId)
+                        .count(rating.getReviewCount())
+                        .mean(rating.getReviewCount() == 0 ? 0 : (double) rating.getScoreSum() / rating.getReviewCount())
+                        .histogram(rating.getHistogram())
+                        .build())
+                .orElseGet(() -> {
+                    // No aggregate row yet: either nobody reviewed it or it does not exist
+                    establishmentService.findById(establishmentId);
+                    return RatingSummaryDTO.builder()
+                            .establishmentId(establishmentId)
+                            .histogram(new long[EstablishmentRating.HISTOGRAM_BUCKETS])
+                            .build();
+                });
+    }
+
+    /**
+     * Returns the version of an establishment's feedback, which changes whenever feedback is added or removed.
+     * Reads a single primary-key row, so it is cheap enough to run before every listing request.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @return The current version, or 0 if the establishment has never had feedback.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion(Long establishmentId) {
+        return establishmentRatingRepository.findVersionByEstablishmentId(establishmentId).orElse(0L);
+    }
+
+    private static long[] singleScore(int score, int delta) {
+        long[] histogram = new long[EstablishmentRating.HISTOGRAM_BUCKETS];
+        histogram[score] = delta;
+        return histogram;
+    }
+}
@@ -1,24 +1,45 @@
 package com.example.feedback.service.impl;
 
+import com.example.feedback.config.CacheConfig;
+import com.example.feedback.config.MetricsConfig;
+import com.example.feedback.config.ReplicaRoutingDataSource;
+import com.example.feedback.dto.EstablishmentDTO;
 import com.example.feedback.entity.Establishment;
+import com.example.feedback.repository.EstablishmentRatingRepository;
 import com.example.feedback.repository.EstablishmentRepository;
+import com.example.feedback.service.EstablishmentChangedEvent;
 import com.example.feedback.service.EstablishmentService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 
 /**
  * Service class for managing establishments.
  * Provides operations for retrieving, saving, and updating establishments.
+ * Reads are served from a read-through cache of immutable snapshots that is invalidated once a save commits. Cache
+ * misses read from the primary, so that a lagging replica cannot put back a snapshot older than the last save.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class EstablishmentServiceImpl implements EstablishmentService {
 
     private final EstablishmentRepository establishmentRepository;
+    private final EstablishmentRatingRepository establishmentRatingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EstablishmentServiceImpl(EstablishmentRepository establishmentRepository) {
+    public EstablishmentServiceImpl(EstablishmentRepository establishmentRepository,
+                                    EstablishmentRatingRepository establishmentRatingRepository,
+                                    ApplicationEventPublisher eventPublisher) {
         this.establishmentRepository = establishmentRepository;
+        this.establishmentRatingRepository = establishmentRatingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -29,9 +50,11 @@ public class EstablishmentServiceImpl implements EstablishmentService {
      * @throws IllegalArgumentException If the establishment is not found.
      */
     @Override
+    @Cacheable(CacheConfig.ESTABLISHMENTS)
     @Transactional(readOnly = true)
-    public Establishment findById(Long id) {
-        return establishmentRepository.findById(id)
+    public EstablishmentDTO findById(Long id) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> establishmentRepository.findById(id))
+                .map(this::toDTO)
                 .orElseThrow(() -> new IllegalArgumentException("Establishment with ID " + id + " not found."));
     }
 
@@ -39,16 +62,21 @@ public class EstablishmentServiceImpl implements EstablishmentService {
      * Retrieves establishments by their type.
      *
      * @param type The type of establishments to retrieve.
-     * @return A list of establishments of the specified type.
+     * @return An unmodifiable list of establishments of the specified type.
      */
     @Override
+    @Cacheable(CacheConfig.ESTABLISHMENTS_BY_TYPE)
     @Transactional(readOnly = true)
-    public List<Establishment> findByType(String type) {
-        return establishmentRepository.findByType(type);
+    public List<EstablishmentDTO> findByType(String type) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> establishmentRepository.findByType(type)).stream()
+                .map(this::toDTO)
+                .toList();
     }
 
     /**
      * Saves or updates an establishment.
+     * Bumps the establishment's version because its feedback listing shows the establishment name. Listeners,
+     * including the cache eviction below, are told through an {@link EstablishmentChangedEvent}.
      *
      * @param establishment The establishment entity to save or update.
      * @return The saved or updated establishment.
@@ -56,6 +84,31 @@ public class EstablishmentServiceImpl implements EstablishmentService {
     @Override
     @Transactional
     public Establishment save(Establishment establishment) {
-        return establishmentRepository.save(establishment);
+        Establishment saved = establishmentRepository.save(establishment);
+        establishmentRatingRepository.bumpVersion(saved.getId());
+        eventPublisher.publishEvent(new EstablishmentChangedEvent(toDTO(saved)));
+        return saved;
+    }
+
+    /**
+     * Evicts the cached snapshot and every per-type list, since the type itself may have changed. Runs after the
+     * save commits: evicting earlier would let a concurrent lookup cache the old row again until it expires.
+     */
+    @TransactionalEventListener
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ESTABLISHMENTS, key = "#event.establishment().getId()"),
+            @CacheEvict(cacheNames = CacheConfig.ESTABLISHMENTS_BY_TYPE, allEntries = true)
+    })
+    public void evictOnChange(EstablishmentChangedEvent event) {
+    }
+
+    private EstablishmentDTO toDTO(Establishment establishment) {
+        return EstablishmentDTO.builder()
+                .id(establishment.getId())
+                .name(establishment.getName())
+                .address(establishment.getAddress())
+                .type(establishment.getType())
+                .createTime(establishment.getCreateTime())
+                .build();
     }
 }
@@ -0,0 +1,86 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.dto.FeedbackEventDTO;
+import com.example.feedback.repository.FeedbackEventRepository;
+import com.example.feedback.service.FeedbackEventService;
+import com.example.feedback.service.FeedbackEventSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Service class for feedback change events.
+ * The relay moves events from the {@code feedback_event} outbox to every {@link FeedbackEventSink} in batches,
+ * each claimed, published and deleted in one transaction, so an event is published at least once. A batch is
+ * relayed under a database-wide advisory lock, so with several instances only one relays at a time and sinks
+ * see events in id order, including every establishment's events in the order they happened.
+ */
+@Slf4j
+@Service
+public class FeedbackEventServiceImpl implements FeedbackEventService {
+
+    private final FeedbackEventRepository feedbackEventRepository;
+    private final List<FeedbackEventSink> sinks;
+    private final SseFeedbackEventSink sseFeedbackEventSink;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${feedback.events.batch-size}")
+    private int batchSize;
+
+    public FeedbackEventServiceImpl(FeedbackEventRepository feedbackEventRepository, List<FeedbackEventSink> sinks,
+                                    SseFeedbackEventSink sseFeedbackEventSink, TransactionTemplate transactionTemplate) {
+        this.feedbackEventRepository = feedbackEventRepository;
+        this.sinks = sinks;
+        this.sseFeedbackEventSink = sseFeedbackEventSink;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Publishes every event in the outbox, {@code feedback.events.batch-size} per transaction. Stops at the first
+     * batch a sink rejects; that batch stays in the outbox and is retried by the next run. Stops as well when
+     * another instance holds the relay lock, leaving the outbox to that instance.
+     *
+     * @return The number of events published.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${feedback.events.relay-interval:500}")
+    public int relay() {
+        int relayed = 0;
+        int claimed;
+        do {
+            try {
+                claimed = transactionTemplate.execute(status -> {
+                    if (!feedbackEventRepository.tryLockRelay()) {
+                        return 0;
+                    }
+                    List<FeedbackEventDTO> events = feedbackEventRepository.claimBatch(batchSize);
+                    if (!events.isEmpty()) {
+                        sinks.forEach(sink -> sink.publish(events));
+                    }
+                    return events.size();
+                });
+            } catch (RuntimeException e) {
+                log.warn("Relaying feedback events failed; retrying on the next run", e);
+                break;
+            }
+            relayed += claimed;
+        } while (claimed == batchSize);
+        return relayed;
+    }
+
+    /**
+     * Streams the events of one establishment to the caller as Server-Sent Events, from now on.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @return The emitter to return from the controller.
+     */
+    @Override
+    public SseEmitter subscribe(Long establishmentId) {
+        return sseFeedbackEventSink.subscribe(establishmentId);
+    }
+}
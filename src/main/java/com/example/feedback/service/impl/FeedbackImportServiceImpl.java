@@ -0,0 +1,220 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.dto.FeedbackImportErrorDTO;
+import com.example.feedback.dto.FeedbackImportRecordDTO;
+import com.example.feedback.dto.FeedbackImportResultDTO;
+import com.example.feedback.entity.EstablishmentRating;
+import com.example.feedback.repository.FeedbackBatchRepository;
+import com.example.feedback.repository.FeedbackBatchRepository.FeedbackKey;
+import com.example.feedback.service.EstablishmentRatingService;
+import com.example.feedback.service.FeedbackImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk feedback imports.
+ * Records are validated one by one and written in batches of {@code feedback.import.batch-size}, each batch
+ * in its own transaction, so a bad record or a failed batch never aborts the rest of the load.
+ */
+@Slf4j
+@Service
+public class FeedbackImportServiceImpl implements FeedbackImportService {
+
+    private final FeedbackBatchRepository feedbackBatchRepository;
+    private final EstablishmentRatingService establishmentRatingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${feedback.import.batch-size}")
+    private int batchSize;
+
+    @Value("${feedback.import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    public FeedbackImportServiceImpl(FeedbackBatchRepository feedbackBatchRepository,
+                                     EstablishmentRatingService establishmentRatingService,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     Validator validator) {
+        this.feedbackBatchRepository = feedbackBatchRepository;
+        this.establishmentRatingService = establishmentRatingService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Imports feedback from newline-delimited JSON, one {@link FeedbackImportRecordDTO} per line.
+     *
+     * @param ndjson The NDJSON input; blank lines are ignored.
+     * @return Counts of imported and failed records, and the first errors with their line numbers.
+     */
+    @Override
+    public FeedbackImportResultDTO importFeedback(InputStream ndjson) {
+        ImportProgress progress = new ImportProgress();
+        List<NumberedRecord> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.total++;
+
+                FeedbackImportRecordDTO record = parse(lineNumber, line, progress);
+                if (record != null) {
+                    batch.add(new NumberedRecord(lineNumber, record));
+                    if (batch.size() >= batchSize) {
+                        writeBatch(batch, progress);
+                        batch.clear();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, progress);
+        }
+
+        return FeedbackImportResultDTO.builder()
+                .total(progress.total)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .build();
+    }
+
+    private FeedbackImportRecordDTO parse(long lineNumber, String line, ImportProgress progress) {
+        FeedbackImportRecordDTO record;
+        try {
+            record = objectMapper.readValue(line, FeedbackImportRecordDTO.class);
+        } catch (JsonProcessingException e) {
+            progress.fail(lineNumber, "Malformed record: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<FeedbackImportRecordDTO>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            progress.fail(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return record;
+    }
+
+    private void writeBatch(List<NumberedRecord> batch, ImportProgress progress) {
+        BatchOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> insertBatch(batch));
+        } catch (DataAccessException e) {
+            log.error("Feedback import batch of {} records failed", batch.size(), e);
+            batch.forEach(numbered -> progress.fail(numbered.line(),
+                    "Batch failed: " + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+        // Only counted once the batch has committed
+        progress.imported += outcome.imported();
+        outcome.errors().forEach(error -> progress.fail(error.getLine(), error.getMessage()));
+    }
+
+    private BatchOutcome insertBatch(List<NumberedRecord> batch) {
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> establishmentIds = new HashSet<>();
+        batch.forEach(numbered -> {
+            customerIds.add(numbered.record().getCustomerId());
+            establishmentIds.add(numbered.record().getEstablishmentId());
+        });
+        Set<Long> existingCustomers = feedbackBatchRepository.findExistingCustomerIds(customerIds);
+        Set<Long> existingEstablishments = feedbackBatchRepository.findExistingEstablishmentIds(establishmentIds);
+
+        List<FeedbackImportErrorDTO> errors = new ArrayList<>();
+        List<NumberedRecord> candidates = new ArrayList<>(batch.size());
+        Set<FeedbackKey> keysInBatch = new HashSet<>();
+        for (NumberedRecord numbered : batch) {
+            FeedbackImportRecordDTO record = numbered.record();
+            if (!existingCustomers.contains(record.getCustomerId())) {
+                errors.add(error(numbered.line(), "Customer with ID " + record.getCustomerId() + " not found."));
+            } else if (!existingEstablishments.contains(record.getEstablishmentId())) {
+                errors.add(error(numbered.line(), "Establishment with ID " + record.getEstablishmentId() + " not found."));
+            } else if (!keysInBatch.add(numbered.key())) {
+                errors.add(error(numbered.line(), "User has already submitted feedback for this establishment."));
+            } else {
+                candidates.add(numbered);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new BatchOutcome(0, errors);
+        }
+
+        Set<FeedbackKey> inserted = feedbackBatchRepository.insertIgnoringDuplicates(
+                candidates.stream().map(NumberedRecord::record).toList());
+
+        // Sorted so concurrent imports lock aggregate rows in the same order
+        Map<Long, long[]> histograms = new TreeMap<>();
+        for (NumberedRecord numbered : candidates) {
+            if (inserted.contains(numbered.key())) {
+                histograms.computeIfAbsent(numbered.record().getEstablishmentId(),
+                        id -> new long[EstablishmentRating.HISTOGRAM_BUCKETS])[numbered.record().getScore()]++;
+            } else {
+                errors.add(error(numbered.line(), "User has already submitted feedback for this establishment."));
+            }
+        }
+        histograms.forEach(establishmentRatingService::recordScores);
+
+        return new BatchOutcome(inserted.size(), errors);
+    }
+
+    private static FeedbackImportErrorDTO error(long line, String message) {
+        return FeedbackImportErrorDTO.builder()
+                .line(line)
+                .message(message)
+                .build();
+    }
+
+    private record NumberedRecord(long line, FeedbackImportRecordDTO record) {
+        FeedbackKey key() {
+            return new FeedbackKey(record.getCustomerId(), record.getEstablishmentId());
+        }
+    }
+
+    private record BatchOutcome(long imported, List<FeedbackImportErrorDTO> errors) {
+    }
+
+    private class ImportProgress {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<FeedbackImportErrorDTO> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.config.IngestProperties;
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackIngestRecordDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO.Status;
+import com.example.feedback.entity.Customer;
+import com.example.feedback.entity.EstablishmentRating;
+import com.example.feedback.exception.ServiceOverloadedException;
+import com.example.feedback.repository.CustomerRepository;
+import com.example.feedback.repository.FeedbackBatchRepository;
+import com.example.feedback.repository.FeedbackBatchRepository.FeedbackKey;
+import com.example.feedback.repository.FeedbackIngestLog;
+import com.example.feedback.repository.FeedbackIngestLog.Entry;
+import com.example.feedback.repository.FeedbackIngestRepository;
+import com.example.feedback.service.EstablishmentRatingService;
+import com.example.feedback.service.FeedbackIngestService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for asynchronous feedback ingestion.
+ * Submissions are validated, appended to the local {@link FeedbackIngestLog} and acknowledged without touching
+ * the database; a background drain writes them in batches, each in one transaction together with its outcomes
+ * in {@code feedback_ingest}. A batch that fails stays in the log and is retried by the next drain, and a batch
+ * replayed after a crash skips the feedbacks whose outcome was already committed.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "feedback.ingest.enabled", havingValue = "true")
+public class FeedbackIngestServiceImpl implements FeedbackIngestService {
+
+    private static final String DUPLICATE = "User has already submitted feedback for this establishment.";
+
+    private final FeedbackIngestLog ingestLog;
+    private final FeedbackIngestRepository feedbackIngestRepository;
+    private final FeedbackBatchRepository feedbackBatchRepository;
+    private final CustomerRepository customerRepository;
+    private final EstablishmentRatingService establishmentRatingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IngestProperties properties;
+
+    // Accepted but not yet committed to the database
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    public FeedbackIngestServiceImpl(FeedbackIngestLog ingestLog,
+                                     FeedbackIngestRepository feedbackIngestRepository,
+                                     FeedbackBatchRepository feedbackBatchRepository,
+                                     CustomerRepository customerRepository,
+                                     EstablishmentRatingService establishmentRatingService,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     IngestProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.ingestLog = ingestLog;
+        this.feedbackIngestRepository = feedbackIngestRepository;
+        this.feedbackBatchRepository = feedbackBatchRepository;
+        this.customerRepository = customerRepository;
+        this.establishmentRatingService = establishmentRatingService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        // Feedback recovered from a previous run is pending until the first drain writes it
+        ingestLog.forEachUncommitted(payload -> pending.add(parse(payload).getIngestId()));
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} feedbacks from the ingest log", pending.size());
+        }
+
+        Gauge.builder("feedback.ingest.pending", pending, Set::size)
+                .description("Feedbacks accepted for asynchronous ingestion and not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts feedback for asynchronous ingestion by the authenticated customer.
+     *
+     * @param feedbackDTO The validated feedback details.
+     * @return The tracking id, with status {@code PENDING}.
+     * @throws ServiceOverloadedException If the backlog of unwritten feedback is too large.
+     */
+    @Override
+    public FeedbackIngestStatusDTO submit(FeedbackDTO feedbackDTO) {
+        if (ingestLog.segmentCount() > properties.getMaxSegments()) {
+            throw new ServiceOverloadedException("Too much feedback is waiting to be written.", properties.getRetryAfter());
+        }
+        AuthenticatedCustomer principal = getAuthenticatedCustomer();
+
+        FeedbackIngestRecordDTO record = new FeedbackIngestRecordDTO();
+        record.setIngestId(UUID.randomUUID());
+        record.setCustomerId(principal.id());
+        record.setEstablishmentId(feedbackDTO.getEstablishmentId());
+        record.setTitle(feedbackDTO.getTitle());
+        record.setTextComment(feedbackDTO.getTextComment());
+        record.setScore(feedbackDTO.getScore());
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot serialize feedback for ingestion", e);
+        }
+        // Marked pending first, so a drain that writes it right away cannot be overtaken
+        pending.add(record.getIngestId());
+        try {
+            ingestLog.append(payload);
+        } catch (RuntimeException e) {
+            pending.remove(record.getIngestId());
+            throw e;
+        }
+
+        return status(record.getIngestId(), Status.PENDING, null);
+    }
+
+    /**
+     * Retrieves the status of an ingested feedback.
+     *
+     * @param ingestId The tracking id returned on submission.
+     * @return The status, with the reason if the feedback was rejected.
+     * @throws IllegalArgumentException If the id is unknown or its outcome is past retention.
+     */
+    @Override
+    public FeedbackIngestStatusDTO getStatus(UUID ingestId) {
+        // Checked before the database: an id leaves the pending set only after its outcome has committed
+        if (pending.contains(ingestId)) {
+            return status(ingestId, Status.PENDING, null);
+        }
+        return feedbackIngestRepository.findById(ingestId)
+                .orElseThrow(() -> new IllegalArgumentException("No feedback found for the given ingest ID: " + ingestId));
+    }
+
+    /**
+     * Writes everything in the ingest log to the database, {@code feedback.ingest.batch-size} feedbacks per
+     * transaction. Stops at the first failed batch, which is retried by the next run.
+     *
+     * @return The number of feedbacks taken out of the log.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${feedback.ingest.drain-interval:200}")
+    public synchronized int drain() {
+        int drained = 0;
+        List<Entry> entries;
+        while (!(entries = ingestLog.read(properties.getBatchSize())).isEmpty()) {
+            List<FeedbackIngestRecordDTO> records = entries.stream().map(entry -> parse(entry.payload())).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(records));
+            } catch (DataAccessException e) {
+                log.warn("Writing {} ingested feedbacks failed; retrying on the next drain", records.size(), e);
+                break;
+            }
+            ingestLog.commit(entries.get(entries.size() - 1).next());
+            records.forEach(record -> pending.remove(record.getIngestId()));
+            drained += records.size();
+        }
+        return drained;
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.ingest.purge-interval:3600000}")
+    public void purgeOutcomes() {
+        int purged = feedbackIngestRepository.deleteCompletedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.debug("Purged {} ingest outcomes past retention", purged);
+        }
+    }
+
+    private void writeBatch(List<FeedbackIngestRecordDTO> records) {
+        // Outcomes already recorded belong to a batch that committed just before a crash
+        Set<UUID> recorded = feedbackIngestRepository.findRecordedIds(
+                records.stream().map(FeedbackIngestRecordDTO::getIngestId).toList());
+        List<FeedbackIngestRecordDTO> fresh = records.stream()
+                .filter(record -> !recorded.contains(record.getIngestId()))
+                .toList();
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> establishmentIds = new HashSet<>();
+        fresh.forEach(record -> {
+            customerIds.add(record.getCustomerId());
+            establishmentIds.add(record.getEstablishmentId());
+        });
+        Set<Long> existingCustomers = feedbackBatchRepository.findExistingCustomerIds(customerIds);
+        Set<Long> existingEstablishments = feedbackBatchRepository.findExistingEstablishmentIds(establishmentIds);
+
+        List<FeedbackIngestStatusDTO> outcomes = new ArrayList<>(fresh.size());
+        List<FeedbackIngestRecordDTO> candidates = new ArrayList<>(fresh.size());
+        Set<FeedbackKey> keysInBatch = new HashSet<>();
+        for (FeedbackIngestRecordDTO record : fresh) {
+            if (!existingCustomers.contains(record.getCustomerId())) {
+                outcomes.add(status(record.getIngestId(), Status.REJECTED,
+                        "Customer with ID " + record.getCustomerId() + " not found."));
+            } else if (!existingEstablishments.contains(record.getEstablishmentId())) {
+                outcomes.add(status(record.getIngestId(), Status.REJECTED,
+                        "Establishment with ID " + record.getEstablishmentId() + " not found."));
+            } else if (!keysInBatch.add(key(record))) {
+                outcomes.add(status(record.getIngestId(), Status.REJECTED, DUPLICATE));
+            } else {
+                candidates.add(record);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            // customer_establishment_unique decides between this batch and feedback written by any other path
+            Set<FeedbackKey> inserted = feedbackBatchRepository.insertIgnoringDuplicates(candidates);
+
+            // Sorted so concurrent writers lock aggregate rows in the same order
+            Map<Long, long[]> histograms = new TreeMap<>();
+            for (FeedbackIngestRecordDTO record : candidates) {
+                if (inserted.contains(key(record))) {
+                    histograms.computeIfAbsent(record.getEstablishmentId(),
+                            id -> new long[EstablishmentRating.HISTOGRAM_BUCKETS])[record.getScore()]++;
+                    outcomes.add(status(record.getIngestId(), Status.COMPLETED, null));
+                } else {
+                    outcomes.add(status(record.getIngestId(), Status.REJECTED, DUPLICATE));
+                }
+            }
+            histograms.forEach(establishmentRatingService::recordScores);
+        }
+
+        feedbackIngestRepository.insertOutcomes(outcomes);
+    }
+
+    private FeedbackIngestRecordDTO parse(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, FeedbackIngestRecordDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable record in the ingest log", e);
+        }
+    }
+
+    private static FeedbackKey key(FeedbackIngestRecordDTO record) {
+        return new FeedbackKey(record.getCustomerId(), record.getEstablishmentId());
+    }
+
+    private static FeedbackIngestStatusDTO status(UUID ingestId, Status status, String error) {
+        return FeedbackIngestStatusDTO.builder()
+                .ingestId(ingestId)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private AuthenticatedCustomer getAuthenticatedCustomer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication.getPrincipal() instanceof AuthenticatedCustomer principal && principal.id() != null) {
+            return principal;
+        }
+
+        // Tokens issued before the customer id claim existed only identify the customer by email
+        Customer customer = customerRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new IllegalArgumentException("Authenticated user not found."));
+        return new AuthenticatedCustomer(customer.getId(), customer.getEmail());
+    }
+}
@@ -1,34 +1,81 @@
 package com.example.feedback.service.impl;
 
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.config.MetricsConfig;
+import com.example.feedback.dto.EstablishmentFeedbackDTO;
+import com.example.feedback.dto.FeedbackBatchRequest;
+import com.example.feedback.dto.FeedbackCursor;
 import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackPageDTO;
 import com.example.feedback.dto.FeedbackResponseDTO;
-import com.example.feedback.entity.Establishment;
+import com.example.feedback.dto.FeedbackSearchCursor;
+import com.example.feedback.dto.FeedbackSearchRequest;
 import com.example.feedback.entity.Feedback;
 import com.example.feedback.entity.Customer;
+import com.example.feedback.repository.FeedbackEventRepository;
 import com.example.feedback.repository.FeedbackRepository;
+import com.example.feedback.repository.FeedbackRepository.CreatedFeedback;
 import com.example.feedback.repository.CustomerRepository;
+import com.example.feedback.repository.FeedbackSearchRepository;
+import com.example.feedback.repository.FeedbackSearchRepository.RankedFeedback;
+import com.example.feedback.repository.LatestFeedbackRepository;
+import com.example.feedback.repository.LatestFeedbackRepository.EstablishmentFeedback;
+import com.example.feedback.service.EstablishmentRatingService;
 import com.example.feedback.service.EstablishmentService;
 import com.example.feedback.service.FeedbackService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing feedbacks.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class FeedbackServiceImpl implements FeedbackService {
 
     private final EstablishmentService establishmentService;
     private final FeedbackRepository feedbackRepository;
     private final CustomerRepository customerRepository;
+    private final EstablishmentRatingService establishmentRatingService;
+    private final FeedbackSearchRepository feedbackSearchRepository;
+    private final FeedbackEventRepository feedbackEventRepository;
+    private final LatestFeedbackRepository latestFeedbackRepository;
 
-    public FeedbackServiceImpl(EstablishmentService establishmentService, FeedbackRepository feedbackRepository, CustomerRepository customerRepository) {
+    @Value("${feedback.pagination.default-page-size}")
+    private int defaultPageSize;
+
+    @Value("${feedback.pagination.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${feedback.pagination.latest-default-size}")
+    private int latestDefaultSize;
+
+    public FeedbackServiceImpl(EstablishmentService establishmentService, FeedbackRepository feedbackRepository,
+                               CustomerRepository customerRepository, EstablishmentRatingService establishmentRatingService,
+                               FeedbackSearchRepository feedbackSearchRepository,
+                               FeedbackEventRepository feedbackEventRepository,
+                               LatestFeedbackRepository latestFeedbackRepository) {
         this.establishmentService = establishmentService;
         this.feedbackRepository = feedbackRepository;
         this.customerRepository = customerRepository;
+        this.establishmentRatingService = establishmentRatingService;
+        this.feedbackSearchRepository = feedbackSearchRepository;
+        this.feedbackEventRepository = feedbackEventRepository;
+        this.latestFeedbackRepository = latestFeedbackRepository;
     }
 
     /**
@@ -40,26 +87,128 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Override
     @Transactional(readOnly = true)
     public List<FeedbackResponseDTO> findByEstablishmentId(Long establishmentId) {
-        List<Feedback> feedbackList = feedbackRepository.findByEstablishmentId(establishmentId);
+        List<FeedbackResponseDTO> feedbackList = feedbackRepository.findResponsesByEstablishmentId(establishmentId);
 
         if (feedbackList.isEmpty()) {
             throw new IllegalArgumentException("No feedback found for the given establishment ID: " + establishmentId);
         }
 
-        return feedbackList.stream()
-                .map(feedback -> FeedbackResponseDTO.builder()
-                        .id(feedback.getId())
-                        .title(feedback.getTitle())
-                        .textComment(feedback.getTextComment())
-                        .score(feedback.getScore())
-                        .customerEmail(feedback.getCustomer().getEmail())
-                        .establishmentName(feedback.getEstablishment().getName())
+        return feedbackList;
+    }
+
+    /**
+     * Retrieves one page of feedbacks for a specific establishment, newest first.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @param cursor          The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size            The requested page size, or {@code null} for the configured default.
+     * @return The page of feedbacks and the cursor of the next page, if any.
+     * @throws com.example.feedback.exception.InvalidCursorException If the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FeedbackPageDTO findPageByEstablishmentId(Long establishmentId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // Fetch one extra row to learn whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<FeedbackResponseDTO> feedbackList;
+        if (cursor == null || cursor.isBlank()) {
+            feedbackList = feedbackRepository.findFirstPage(establishmentId, limit);
+        } else {
+            FeedbackCursor position = FeedbackCursor.decode(cursor);
+            feedbackList = feedbackRepository.findPageAfter(establishmentId, position.createTime(), position.id(), limit);
+        }
+
+        boolean hasMore = feedbackList.size() > pageSize;
+        List<FeedbackResponseDTO> page = hasMore ? feedbackList.subList(0, pageSize) : feedbackList;
+        String nextCursor = null;
+        if (hasMore) {
+            FeedbackResponseDTO last = page.get(page.size() - 1);
+            nextCursor = new FeedbackCursor(last.getCreateTime(), last.getId()).encode();
+        }
+
+        return FeedbackPageDTO.builder()
+                .items(List.copyOf(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Retrieves the latest feedbacks of several establishments with a single query.
+     *
+     * @param request The establishment ids and the number of feedbacks per establishment.
+     * @return One entry per distinct establishment id, in request order; establishments without feedback,
+     * or unknown ones, have no items.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EstablishmentFeedbackDTO> findLatestByEstablishmentIds(FeedbackBatchRequest request) {
+        Set<Long> establishmentIds = new LinkedHashSet<>(request.getEstablishmentIds());
+        int size = request.getSize() == null ? latestDefaultSize : request.getSize();
+
+        Map<Long, List<FeedbackResponseDTO>> feedbacks = new HashMap<>();
+        for (EstablishmentFeedback row : latestFeedbackRepository.findLatest(establishmentIds, size)) {
+            feedbacks.computeIfAbsent(row.establishmentId(), id -> new ArrayList<>()).add(row.feedback());
+        }
+
+        return establishmentIds.stream()
+                .map(establishmentId -> EstablishmentFeedbackDTO.builder()
+                        .establishmentId(establishmentId)
+                        .items(feedbacks.getOrDefault(establishmentId, List.of()))
                         .build())
                 .toList();
     }
 
     /**
-     * Creates feedback for an establishment.
+     * Searches feedback titles and comments for keywords, best match first, one page at a time.
+     *
+     * @param request The keywords, optional filters, cursor and page size.
+     * @return The page of matching feedbacks and the cursor of the next page, if any.
+     * @throws com.example.feedback.exception.InvalidCursorException If the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FeedbackPageDTO search(FeedbackSearchRequest request) {
+        int pageSize = pageSize(request.getSize());
+        FeedbackSearchCursor after = request.getCursor() == null || request.getCursor().isBlank()
+                ? null
+                : FeedbackSearchCursor.decode(request.getCursor());
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<RankedFeedback> matches = feedbackSearchRepository.search(request, after, pageSize + 1);
+
+        boolean hasMore = matches.size() > pageSize;
+        List<RankedFeedback> page = hasMore ? matches.subList(0, pageSize) : matches;
+        String nextCursor = null;
+        if (hasMore) {
+            RankedFeedback last = page.get(page.size() - 1);
+            nextCursor = new FeedbackSearchCursor(last.rank(), last.feedback().getId()).encode();
+        }
+
+        return FeedbackPageDTO.builder()
+                .items(page.stream().map(RankedFeedback::feedback).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Streams all feedbacks for a specific establishment, newest first, from a database cursor.
+     * Rows are read as projections, so nothing accumulates in the persistence context.
+     *
+     * @param establishmentId The ID of the establishment.
+     * @param consumer        Receives each feedback in order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByEstablishmentId(Long establishmentId, Consumer<FeedbackResponseDTO> consumer) {
+        try (Stream<FeedbackResponseDTO> feedbackStream = feedbackRepository.streamByEstablishmentId(establishmentId)) {
+            feedbackStream.forEach(consumer);
+        }
+    }
+
+    /**
+     * Creates feedback for an establishment, with its {@code CREATED} change event.
      *
      * @param feedbackDTO The feedback details provided by the user.
      * @return The created feedback response.
@@ -67,54 +216,62 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Override
     @Transactional
     public FeedbackResponseDTO createFeedback(FeedbackDTO feedbackDTO) {
-        Customer customer = getAuthenticatedUser();
+        AuthenticatedCustomer principal = getAuthenticatedCustomer();
 
-        // Enforce the one-feedback-per-user constraint
-        if (feedbackRepository.existsByCustomerIdAndEstablishmentId(customer.getId(), feedbackDTO.getEstablishmentId())) {
-            throw new IllegalStateException("User has already submitted feedback for this establishment.");
-        }
+        // Enforce the one-feedback-per-user constraint atomically in the insert itself
+        CreatedFeedback created = feedbackRepository.insertIfAbsent(principal.id(), feedbackDTO.getEstablishmentId(),
+                        feedbackDTO.getTitle(), feedbackDTO.getTextComment(), feedbackDTO.getScore())
+                .orElseThrow(() -> {
+                    // Nothing inserted: report a missing establishment as such, otherwise it was a duplicate
+                    establishmentService.findById(feedbackDTO.getEstablishmentId());
+                    return new IllegalStateException("User has already submitted feedback for this establishment.");
+                });
 
-        Establishment establishment = establishmentService.findById(feedbackDTO.getEstablishmentId());
-
-        Feedback feedback = new Feedback();
-        feedback.setCustomer(customer);
-        feedback.setEstablishment(establishment);
-        feedback.setTitle(feedbackDTO.getTitle());
-        feedback.setTextComment(feedbackDTO.getTextComment());
-        feedback.setScore(feedbackDTO.getScore());
-
-        Feedback savedFeedback = feedbackRepository.save(feedback);
+        establishmentRatingService.recordScore(feedbackDTO.getEstablishmentId(), feedbackDTO.getScore());
 
         return FeedbackResponseDTO.builder()
-                .id(savedFeedback.getId())
-                .title(savedFeedback.getTitle())
-                .textComment(savedFeedback.getTextComment())
-                .score(savedFeedback.getScore())
-                .customerEmail(savedFeedback.getCustomer().getEmail())
-                .establishmentName(savedFeedback.getEstablishment().getName())
+                .id(created.getId())
+                .title(feedbackDTO.getTitle())
+                .textComment(feedbackDTO.getTextComment())
+                .score(feedbackDTO.getScore())
+                .customerEmail(principal.email())
+                .establishmentName(created.getEstablishmentName())
+                .createTime(created.getCreateTime())
                 .build();
     }
 
     /**
-     * Deletes feedback for the authenticated user.
+     * Deletes feedback for the authenticated user, with its {@code DELETED} change event.
      *
      * @param feedbackId The ID of the feedback to delete.
      */
     @Override
     @Transactional
     public void deleteFeedbackForAuthenticatedCustomer(Long feedbackId) {
-        Customer customer = getAuthenticatedUser();
+        AuthenticatedCustomer principal = getAuthenticatedCustomer();
 
-        Feedback feedback = feedbackRepository.findByIdAndCustomerId(feedbackId, customer.getId())
+        Feedback feedback = feedbackRepository.findByIdAndCustomerId(feedbackId, principal.id())
                 .orElseThrow(() -> new IllegalArgumentException("Feedback not found for the given feedback ID: " + feedbackId));
 
         feedbackRepository.delete(feedback);
+        establishmentRatingService.removeScore(feedback.getEstablishment().getId(), feedback.getScore());
+        feedbackEventRepository.recordDeleted(feedback);
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
     }
 
-    private Customer getAuthenticatedUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+    private AuthenticatedCustomer getAuthenticatedCustomer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication.getPrincipal() instanceof AuthenticatedCustomer principal && principal.id() != null) {
+            return principal;
+        }
 
-        return customerRepository.findByEmail(email)
+        // Tokens issued before the customer id claim existed only identify the customer by email
+        Customer customer = customerRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new IllegalArgumentException("Authenticated user not found."));
+        return new AuthenticatedCustomer(customer.getId(), customer.getEmail());
     }
 }
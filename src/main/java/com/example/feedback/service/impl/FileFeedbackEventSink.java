@@ -0,0 +1,57 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.dto.FeedbackEventDTO;
+import com.example.feedback.service.FeedbackEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as newline-delimited JSON to a local file, for development and tests, or for a log shipper
+ * to pick up. Enabled with {@code feedback.events.file.enabled}.
+ */
+@Component
+@ConditionalOnProperty(name = "feedback.events.file.enabled", havingValue = "true")
+public class FileFeedbackEventSink implements FeedbackEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileFeedbackEventSink(@Value("${feedback.events.file.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<FeedbackEventDTO> events) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (FeedbackEventDTO event : events) {
+                objectMapper.writeValue(lines, event);
+                lines.write('\n');
+            }
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(lines.toByteArray()));
+                // Durable before the outbox rows are deleted
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write feedback events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.dto.EstablishmentDTO;
+import com.example.feedback.dto.LeaderboardEntryDTO;
+import com.example.feedback.entity.EstablishmentRating;
+import com.example.feedback.repository.EstablishmentRatingRepository;
+import com.example.feedback.repository.EstablishmentRatingRepository.EstablishmentStanding;
+import com.example.feedback.service.EstablishmentChangedEvent;
+import com.example.feedback.service.LeaderboardService;
+import com.example.feedback.service.RatingChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Service class for the per-type leaderboards of establishments.
+ * <p>
+ * Each type keeps its reviewed establishments in a skip list ordered by Bayesian average: the mean score pulled
+ * towards the type's overall mean by {@code feedback.leaderboard.prior-weight} virtual reviews, so a single
+ * perfect review does not outrank hundreds of good ones. Reads walk the head of the list and never touch the
+ * database.
+ * <p>
+ * The lists are built from one aggregate query at startup and rebuilt every
+ * {@code feedback.leaderboard.refresh-interval}, which also recomputes the per-type means and picks up changes
+ * made by other instances. In between, committed rating and establishment changes of this instance are applied
+ * as they happen; one that commits while a rebuild is running may be missed or counted twice until the next one.
+ */
+@Slf4j
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final double DEFAULT_PRIOR_MEAN = (EstablishmentRating.HISTOGRAM_BUCKETS - 1) / 2.0;
+
+    // Ties go to the establishment with more reviews, then to the older one
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong((Ranked ranked) -> ranked.standing().reviewCount()).reversed())
+            .thenComparing(ranked -> ranked.standing().establishmentId());
+
+    private final EstablishmentRatingRepository establishmentRatingRepository;
+    private final double priorWeight;
+    private final int defaultSize;
+    private final int maxSize;
+
+    // Replaced as a whole by a rebuild; changed in place, under this service's lock, by committed events
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    public LeaderboardServiceImpl(EstablishmentRatingRepository establishmentRatingRepository,
+                                  @Value("${feedback.leaderboard.prior-weight}") double priorWeight,
+                                  @Value("${feedback.leaderboard.default-size}") int defaultSize,
+                                  @Value("${feedback.leaderboard.max-size}") int maxSize) {
+        this.establishmentRatingRepository = establishmentRatingRepository;
+        this.priorWeight = priorWeight;
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+
+        rebuild();
+    }
+
+    /**
+     * Retrieves the best establishments of a type, best first.
+     *
+     * @param type The type of establishments to rank.
+     * @param size The number of establishments requested, or {@code null} for the configured default.
+     * @return Up to {@code size} entries; empty if no establishment of the type has been reviewed.
+     */
+    @Override
+    public List<LeaderboardEntryDTO> findTop(String type, Integer size) {
+        Board board = snapshot.boards().get(type);
+        if (board == null) {
+            return List.of();
+        }
+        int limit = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+
+        List<LeaderboardEntryDTO> top = new ArrayList<>(limit);
+        Iterator<Ranked> ranking = board.ranking().iterator();
+        while (top.size() < limit && ranking.hasNext()) {
+            Ranked ranked = ranking.next();
+            Standing standing = ranked.standing();
+            top.add(LeaderboardEntryDTO.builder()
+                    .rank(top.size() + 1)
+                    .establishmentId(standing.establishmentId())
+                    .name(standing.name())
+                    .type(standing.type())
+                    .reviewCount(standing.reviewCount())
+                    .mean((double) standing.scoreSum() / standing.reviewCount())
+                    .score(ranked.score())
+                    .build());
+        }
+        return top;
+    }
+
+    /**
+     * Reloads every leaderboard from the database and recomputes the per-type means.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${feedback.leaderboard.refresh-interval:300000}",
+            initialDelayString = "${feedback.leaderboard.refresh-interval:300000}")
+    public void rebuild() {
+        List<EstablishmentStanding> rows = establishmentRatingRepository.findAllStandings();
+
+        Map<String, long[]> totals = new HashMap<>();
+        for (EstablishmentStanding row : rows) {
+            long[] total = totals.computeIfAbsent(row.getType(), type -> new long[2]);
+            total[0] += row.getReviewCount();
+            total[1] += row.getScoreSum();
+        }
+
+        Map<Long, Standing> standings = new ConcurrentHashMap<>(rows.size());
+        Map<String, Board> boards = new ConcurrentHashMap<>();
+        totals.forEach((type, total) ->
+                boards.put(type, new Board(total[0] == 0 ? DEFAULT_PRIOR_MEAN : (double) total[1] / total[0])));
+        for (EstablishmentStanding row : rows) {
+            Standing standing = new Standing(row.getEstablishmentId(), row.getName(), row.getType(),
+                    row.getReviewCount(), row.getScoreSum());
+            standings.put(standing.establishmentId(), standing);
+            boards.get(standing.type()).add(standing);
+        }
+
+        synchronized (this) {
+            snapshot = new Snapshot(standings, boards);
+        }
+        log.debug("Rebuilt leaderboards of {} establishments in {} types", standings.size(), boards.size());
+    }
+
+    @TransactionalEventListener
+    public synchronized void onRatingChanged(RatingChangedEvent event) {
+        Standing current = snapshot.standings().get(event.establishmentId());
+        if (current == null) {
+            // Created on another instance since the last rebuild, which will include it
+            return;
+        }
+        update(current, new Standing(current.establishmentId(), current.name(), current.type(),
+                current.reviewCount() + event.reviewCountDelta(), current.scoreSum() + event.scoreSumDelta()));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onEstablishmentChanged(EstablishmentChangedEvent event) {
+        EstablishmentDTO establishment = event.establishment();
+        Standing current = snapshot.standings().get(establishment.getId());
+        long reviewCount = current == null ? 0 : current.reviewCount();
+        long scoreSum = current == null ? 0 : current.scoreSum();
+        update(current, new Standing(establishment.getId(), establishment.getName(), establishment.getType(),
+                reviewCount, scoreSum));
+    }
+
+    private void update(Standing current, Standing updated) {
+        Snapshot snapshot = this.snapshot;
+        snapshot.standings().put(updated.establishmentId(), updated);
+        // Removed before it is added back, so a concurrent reader may briefly miss it but never sees it twice
+        if (current != null) {
+            snapshot.boards().get(current.type()).remove(current);
+        }
+        snapshot.boards().computeIfAbsent(updated.type(), type -> new Board(DEFAULT_PRIOR_MEAN)).add(updated);
+    }
+
+    private record Snapshot(Map<Long, Standing> standings, Map<String, Board> boards) {
+    }
+
+    private record Standing(Long establishmentId, String name, String type, long reviewCount, long scoreSum) {
+    }
+
+    private record Ranked(double score, Standing standing) {
+    }
+
+    /**
+     * The ranking of one type. The prior mean is fixed for the life of the board, so an entry's score, and with
+     * it its position, only changes when its own standing does.
+     */
+    private class Board {
+
+        private final double priorMean;
+        private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(BEST_FIRST);
+
+        Board(double priorMean) {
+            this.priorMean = priorMean;
+        }
+
+        ConcurrentSkipListSet<Ranked> ranking() {
+            return ranking;
+        }
+
+        void add(Standing standing) {
+            if (standing.reviewCount() > 0) {
+                ranking.add(new Ranked(score(standing), standing));
+            }
+        }
+
+        void remove(Standing standing) {
+            if (standing.reviewCount() > 0) {
+                ranking.remove(new Ranked(score(standing), standing));
+            }
+        }
+
+        private double score(Standing standing) {
+            return (priorWeight * priorMean + standing.scoreSum()) / (priorWeight + standing.reviewCount());
+        }
+    }
+}
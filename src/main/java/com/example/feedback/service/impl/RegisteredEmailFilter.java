@@ -0,0 +1,133 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.repository.CustomerEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory Bloom filter of registered emails, so that signups with a new email skip the existence check.
+ * A miss is definite for the emails this instance has seen: those streamed from {@code customer} by the last
+ * build and those registered here since. An email registered on another instance in between, or one the build
+ * missed because it read from a lagging replica, is only caught by the unique constraint, so callers must still
+ * handle that.
+ * <p>
+ * A rebuild fills a new filter from the table while the current one keeps answering, and signups made during
+ * the rebuild go into both, so the swap loses nothing. The filter is rebuilt every
+ * {@code feedback.signup-filter.rebuild-interval}, and sooner once signups push its estimated false-positive
+ * rate above {@code max-false-positive-rate}.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private final CustomerEmailRepository customerEmailRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long minCapacity;
+    private final double falsePositiveRate;
+    private final double maxFalsePositiveRate;
+    private final Counter definiteMisses;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter current;
+    // Non-null while a rebuild is filling it
+    private volatile BloomFilter building;
+
+    public RegisteredEmailFilter(CustomerEmailRepository customerEmailRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${feedback.signup-filter.min-capacity}") long minCapacity,
+                                 @Value("${feedback.signup-filter.false-positive-rate}") double falsePositiveRate,
+                                 @Value("${feedback.signup-filter.max-false-positive-rate}") double maxFalsePositiveRate,
+                                 MeterRegistry meterRegistry) {
+        this.customerEmailRepository = customerEmailRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxFalsePositiveRate = maxFalsePositiveRate;
+
+        rebuild();
+
+        Gauge.builder("feedback.signup.filter.false.positive.rate", this,
+                        filter -> filter.current.expectedFalsePositiveRate())
+                .description("Estimated false-positive rate of the registered email filter, from its share of set bits")
+                .register(meterRegistry);
+        this.definiteMisses = Counter.builder("feedback.signup.filter.checks")
+                .tag("result", "miss")
+                .description("Signup email checks answered by the filter alone")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("feedback.signup.filter.checks")
+                .tag("result", "false_positive")
+                .description("Signup email checks the filter passed on whose lookup found no customer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} if the email is not registered, short of a registration on another instance since
+     * the last build; {@code true} if it may be.
+     */
+    public boolean mightContain(String email) {
+        if (current.mightContain(email)) {
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    /**
+     * Records that a lookup found no customer for an email the filter reported as possibly registered.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Adds a newly registered email. Must be called after the registration committed, so that a concurrent
+     * rebuild either reads it from the table or sees it here.
+     */
+    public void add(String email) {
+        // Read before current: a rebuild swaps current in before clearing building, so one of the two is the new filter
+        BloomFilter next = building;
+        current.add(email);
+        if (next != null) {
+            next.add(email);
+        }
+    }
+
+    /**
+     * Builds a new filter from the {@code customer} table and swaps it in, sized for twice the registered
+     * emails so that it has room for the signups until the next rebuild.
+     */
+    @Scheduled(fixedDelayString = "${feedback.signup-filter.rebuild-interval:3600000}",
+            initialDelayString = "${feedback.signup-filter.rebuild-interval:3600000}")
+    public synchronized void rebuild() {
+        long capacity = Math.max(minCapacity, 2 * customerEmailRepository.estimateCount());
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+        // Published before the table is read, so signups committed after the read started are added as well
+        building = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> customerEmailRepository.forEachEmail(next::add));
+            current = next;
+        } finally {
+            building = null;
+        }
+        log.debug("Rebuilt the registered email filter: {} bits, {} hashes, estimated false-positive rate {}",
+                next.bitCount(), next.hashCount(), next.expectedFalsePositiveRate());
+    }
+
+    /**
+     * Rebuilds the filter ahead of schedule once signups have filled it past its false-positive ceiling.
+     */
+    @Scheduled(fixedDelayString = "${feedback.signup-filter.check-interval:60000}")
+    public void rebuildIfSaturated() {
+        if (current.expectedFalsePositiveRate() > maxFalsePositiveRate) {
+            log.info("Registered email filter saturated, rebuilding");
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.feedback.service.impl;
+
+import com.example.feedback.dto.FeedbackEventDTO;
+import com.example.feedback.service.FeedbackEventSink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes events to Server-Sent Events subscribers of the affected establishment.
+ * This is a live feed only: events are handed to a single dispatcher thread so slow clients never hold up the
+ * relay's transaction, and are dropped, oldest first, if {@code feedback.events.sse-queue-capacity} batches are
+ * already waiting. Consumers that need every event should use a durable sink instead.
+ */
+@Slf4j
+@Component
+public class SseFeedbackEventSink implements FeedbackEventSink {
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor dispatcher;
+    private final Duration timeout;
+
+    public SseFeedbackEventSink(@Value("${feedback.events.sse-timeout}") Duration timeout,
+                                @Value("${feedback.events.sse-queue-capacity}") int queueCapacity) {
+        this.timeout = timeout;
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "feedback-events-sse");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardOldestPolicy());
+    }
+
+    /**
+     * Registers a subscriber for the events of one establishment until the client disconnects or the timeout expires.
+     */
+    public SseEmitter subscribe(Long establishmentId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribers.compute(establishmentId, (id, emitters) -> {
+            Set<SseEmitter> current = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            current.add(emitter);
+            return current;
+        });
+
+        Runnable unsubscribe = () -> subscribers.computeIfPresent(establishmentId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<FeedbackEventDTO> events) {
+        Map<Long, List<FeedbackEventDTO>> byEstablishment = events.stream()
+                .filter(event -> subscribers.containsKey(event.getEstablishmentId()))
+                .collect(Collectors.groupingBy(FeedbackEventDTO::getEstablishmentId));
+        if (!byEstablishment.isEmpty()) {
+            dispatcher.execute(() -> byEstablishment.forEach(this::send));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    private void send(Long establishmentId, List<FeedbackEventDTO> events) {
+        for (SseEmitter emitter : subscribers.getOrDefault(establishmentId, Set.of())) {
+            try {
+                for (FeedbackEventDTO event : events) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getId()))
+                            .name(event.getType().name().toLowerCase())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; completing the emitter unsubscribes it
+                log.debug("Dropping feedback event subscriber for establishment {}: {}", establishmentId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+-- Per-establishment rating aggregate, maintained incrementally by the application on every
+-- feedback create/delete so summaries never rescan the feedback table.
+CREATE TABLE establishment_rating
+(
+    establishment_id BIGINT PRIMARY KEY,
+    review_count     BIGINT   DEFAULT 0                                 NOT NULL,
+    score_sum        BIGINT   DEFAULT 0                                 NOT NULL,
+    histogram        BIGINT[] DEFAULT ARRAY [0,0,0,0,0,0,0,0,0,0,0]     NOT NULL, -- review count per score 0..10
+    CONSTRAINT fk_rating_establishment FOREIGN KEY (establishment_id) REFERENCES establishment (id) ON DELETE CASCADE,
+    CONSTRAINT histogram_buckets CHECK (array_length(histogram, 1) = 11)
+);
+
+-- Backfill from feedback submitted before the aggregate existed
+INSERT INTO establishment_rating (establishment_id, review_count, score_sum, histogram)
+SELECT establishment_id,
+       COUNT(*),
+       SUM(score),
+       ARRAY [
+           COUNT(*) FILTER (WHERE score = 0),
+           COUNT(*) FILTER (WHERE score = 1),
+           COUNT(*) FILTER (WHERE score = 2),
+           COUNT(*) FILTER (WHERE score = 3),
+           COUNT(*) FILTER (WHERE score = 4),
+           COUNT(*) FILTER (WHERE score = 5),
+           COUNT(*) FILTER (WHERE score = 6),
+           COUNT(*) FILTER (WHERE score = 7),
+           COUNT(*) FILTER (WHERE score = 8),
+           COUNT(*) FILTER (WHERE score = 9),
+           COUNT(*) FILTER (WHERE score = 10)
+           ]
+FROM feedback
+GROUP BY establishment_id;
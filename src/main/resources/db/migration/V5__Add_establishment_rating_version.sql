@@ -0,0 +1,3 @@
+-- Bumped on every change to an establishment's feedback; backs the ETag of its feedback listing
+ALTER TABLE establishment_rating
+    ADD COLUMN version BIGINT DEFAULT 1 NOT NULL;
@@ -0,0 +1,9 @@
+-- Full-text search over feedback. The document is maintained by Postgres itself, with title matches
+-- weighted above comment matches for ranking, and is indexed with GIN so keyword lookups never scan the table.
+ALTER TABLE feedback
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(text_comment, '')), 'B')
+        ) STORED;
+
+CREATE INDEX idx_feedback_search_vector ON feedback USING GIN (search_vector);
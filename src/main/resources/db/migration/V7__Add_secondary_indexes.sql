@@ -0,0 +1,11 @@
+-- Indexes for the read paths that previously had none. The unique constraint on feedback leads with
+-- customer_id, so it cannot serve lookups by establishment.
+--
+-- Listing, paging and streaming all filter on establishment_id and order by (create_time DESC, id DESC);
+-- this index serves the filter, the order and the keyset predicate, so no sort is needed. It also backs
+-- the ON DELETE CASCADE from establishment.
+-- Built concurrently so existing deployments keep accepting writes; Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY idx_feedback_establishment_time ON feedback (establishment_id, create_time DESC, id DESC);
+
+-- EstablishmentRepository.findByType
+CREATE INDEX CONCURRENTLY idx_establishment_type ON establishment (type);
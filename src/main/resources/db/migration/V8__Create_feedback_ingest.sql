@@ -0,0 +1,13 @@
+-- Outcome of each feedback accepted through the asynchronous ingest endpoint, written in the same transaction
+-- as the feedback itself. It lets clients poll by tracking id, and makes replaying the local ingest log after a
+-- crash idempotent: records whose id is already here were committed before the crash and are skipped.
+CREATE TABLE feedback_ingest
+(
+    ingest_id     UUID PRIMARY KEY,
+    status        VARCHAR(20)                         NOT NULL, -- 'COMPLETED' or 'REJECTED'
+    error         VARCHAR(255),
+    complete_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Purging outcomes past their retention
+CREATE INDEX idx_feedback_ingest_complete_time ON feedback_ingest (complete_time);
@@ -0,0 +1,15 @@
+-- Transactional outbox of feedback changes. Every feedback insert or delete adds a row here in the same
+-- transaction; the relay publishes rows in id order and deletes them once every sink has accepted them.
+-- There is no foreign key to feedback, because deleted feedback must still be announced.
+CREATE TABLE feedback_event
+(
+    id               BIGSERIAL PRIMARY KEY,
+    event_type       VARCHAR(20)                         NOT NULL, -- 'CREATED' or 'DELETED'
+    feedback_id      BIGINT                              NOT NULL,
+    establishment_id BIGINT                              NOT NULL,
+    customer_id      BIGINT                              NOT NULL,
+    score            INT                                 NOT NULL,
+    title            VARCHAR(50),
+    text_comment     VARCHAR(1000),
+    create_time      TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
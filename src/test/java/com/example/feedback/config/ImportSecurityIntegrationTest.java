@@ -0,0 +1,60 @@
+package com.example.feedback.config;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "feedback.import.enabled=true",
+        "feedback.import.api-key=test-import-key"
+})
+@AutoConfigureMockMvc
+class ImportSecurityIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("Should refuse a customer token, since records name the customer they are written for")
+    void testCustomerTokenForbidden() throws Exception {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        customer.setEmail("test@example.com");
+
+        mockMvc.perform(importRequest().header("Authorization", "Bearer " + jwtTokenProvider.generateToken(customer)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should refuse a wrong import key")
+    void testWrongKeyForbidden() throws Exception {
+        mockMvc.perform(importRequest().header(ImportKeyAuthenticationFilter.HEADER, "guessed-key"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should accept the configured import key")
+    void testImportKeyAccepted() throws Exception {
+        mockMvc.perform(importRequest().header(ImportKeyAuthenticationFilter.HEADER, "test-import-key"))
+                .andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder importRequest() {
+        return post("/api/v1/feedback/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("");
+    }
+}
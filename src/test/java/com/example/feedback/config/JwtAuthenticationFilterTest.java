@@ -0,0 +1,73 @@
+package com.example.feedback.config;
+
+import com.example.feedback.entity.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "XOQ3Xn63ZNwX865KLcGxb6oqkO/nGtniWzkQZb3nUWI4y4oa6d20hh14JByIk8iq3ZnAluXwGKxi6MFKvXyq8g==";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86400000L, 100, Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a valid token and time the verification")
+    void testValidToken() throws Exception {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        customer.setEmail("test@example.com");
+
+        doFilter("Bearer " + jwtTokenProvider.generateToken(customer));
+
+        AuthenticatedCustomer principal =
+                (AuthenticatedCustomer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(7L, principal.id());
+        assertEquals(1, verificationCount("verified"));
+        assertEquals(0, verificationCount("rejected"));
+    }
+
+    @Test
+    @DisplayName("Should leave the request unauthenticated for an invalid token and time the rejection")
+    void testInvalidToken() throws Exception {
+        doFilter("Bearer not-a-token");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(0, verificationCount("verified"));
+        assertEquals(1, verificationCount("rejected"));
+    }
+
+    private void doFilter(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private long verificationCount(String outcome) {
+        return meterRegistry.get("security.jwt.verification").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.feedback.config;
+
+import com.example.feedback.entity.Customer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "XOQ3Xn63ZNwX865KLcGxb6oqkO/nGtniWzkQZb3nUWI4y4oa6d20hh14JByIk8iq3ZnAluXwGKxi6MFKvXyq8g==";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86400000L, 100, Duration.ofMinutes(5));
+
+        customer = new Customer();
+        customer.setId(7L);
+        customer.setEmail("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should parse the subject of a token it generated")
+    void testRoundTrip() {
+        String token = jwtTokenProvider.generateToken(customer);
+
+        assertEquals("test@example.com", jwtTokenProvider.parseClaims(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("Should carry the customer id as a claim")
+    void testCustomerIdClaim() {
+        String token = jwtTokenProvider.generateToken(customer);
+
+        assertEquals(7L, jwtTokenProvider.parseClaims(token).get(JwtTokenProvider.CUSTOMER_ID_CLAIM, Long.class));
+    }
+
+    @Test
+    @DisplayName("Should serve repeat verifications from the cache")
+    void testVerifiedTokenCached() {
+        String token = jwtTokenProvider.generateToken(customer);
+
+        Claims first = jwtTokenProvider.parseClaims(token);
+        Claims second = jwtTokenProvider.parseClaims(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature")
+    void testTamperedToken() {
+        String token = jwtTokenProvider.generateToken(customer);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.parseClaims(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testExpiredToken() {
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(SECRET, -1000L, 100, Duration.ofMinutes(5));
+        String token = expiredProvider.generateToken(customer);
+
+        assertThrows(JwtException.class, () -> expiredProvider.parseClaims(token));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.feedback.config;
+
+import com.example.feedback.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordEncoder passwordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingExecutor = new PasswordHashingExecutor(
+                passwordEncoder, 1, 1, Duration.ofSeconds(3), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the pool and time each call")
+    void testEncodeAndMatches() {
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        assertEquals("hash", passwordHashingExecutor.encode("secret"));
+        assertTrue(passwordHashingExecutor.matches("secret", "hash"));
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject work beyond the queue capacity instead of waiting")
+    void testRejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+
+        // One hash running on the single thread and one waiting in the single queue slot
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<String> running = callers.submit(() -> passwordHashingExecutor.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> passwordHashingExecutor.encode("b"));
+        while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> passwordHashingExecutor.encode("c"));
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+}
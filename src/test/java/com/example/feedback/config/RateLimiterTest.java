@@ -0,0 +1,220 @@
+package com.example.feedback.config;
+
+import com.example.feedback.config.RateLimitProperties.KeyType;
+import com.example.feedback.config.RateLimitProperties.Rule;
+import com.example.feedback.entity.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final String SECRET = "XOQ3Xn63ZNwX865KLcGxb6oqkO/nGtniWzkQZb3nUWI4y4oa6d20hh14JByIk8iq3ZnAluXwGKxi6MFKvXyq8g==";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86400000L, 100, Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rule("auth", "POST", "/api/v1/auth/**", KeyType.IP, 3),
+                rule("api", null, "/api/v1/**", KeyType.SUBJECT, 2)));
+        rateLimiter = new RateLimiter(properties, jwtTokenProvider, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Tests for TokenBucket")
+    class TokenBucketTests {
+
+        @Test
+        @DisplayName("Should allow a full burst, then refill one token per interval")
+        void testBurstAndRefill() {
+            long interval = TimeUnit.MILLISECONDS.toNanos(100);
+            TokenBucket bucket = new TokenBucket(interval, 3, 0);
+
+            assertEquals(0, bucket.tryAcquire(0));
+            assertEquals(0, bucket.tryAcquire(0));
+            assertEquals(0, bucket.tryAcquire(0));
+            assertEquals(interval, bucket.tryAcquire(0));
+
+            assertEquals(0, bucket.tryAcquire(interval));
+            assertTrue(bucket.tryAcquire(interval) > 0);
+        }
+
+        @Test
+        @DisplayName("Should report a bucket as idle once it has been full for the idle timeout")
+        void testIdle() {
+            long interval = TimeUnit.MILLISECONDS.toNanos(100);
+            TokenBucket bucket = new TokenBucket(interval, 1, 0);
+            bucket.tryAcquire(0);
+
+            assertFalse(bucket.isIdle(interval, interval));
+            assertTrue(bucket.isIdle(3 * interval, interval));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for RateLimiter")
+    class RateLimiterTests {
+
+        @Test
+        @DisplayName("Should apply the first matching rule per client address")
+        void testFirstMatchingRulePerAddress() {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0, rateLimiter.acquire(request("POST", "/api/v1/auth/login", "10.0.0.1", null)));
+            }
+            assertTrue(rateLimiter.acquire(request("POST", "/api/v1/auth/login", "10.0.0.1", null)) > 0);
+
+            // Another client and another rule have their own buckets
+            assertEquals(0, rateLimiter.acquire(request("POST", "/api/v1/auth/login", "10.0.0.2", null)));
+            assertEquals(0, rateLimiter.acquire(request("GET", "/api/v1/feedback", "10.0.0.1", null)));
+            assertEquals(1, meterRegistry.get("http.server.requests.rate.limited").tag("rule", "auth").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should limit authenticated requests per customer regardless of address")
+        void testSubjectKey() {
+            Customer customer = new Customer();
+            customer.setId(1L);
+            customer.setEmail("test@example.com");
+            String token = jwtTokenProvider.generateToken(customer);
+
+            assertEquals(0, rateLimiter.acquire(request("GET", "/api/v1/feedback", "10.0.0.1", token)));
+            assertEquals(0, rateLimiter.acquire(request("GET", "/api/v1/feedback", "10.0.0.2", token)));
+            assertTrue(rateLimiter.acquire(request("GET", "/api/v1/feedback", "10.0.0.3", token)) > 0);
+        }
+
+        @Test
+        @DisplayName("Should not limit requests no rule matches")
+        void testUnmatchedPath() {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(0, rateLimiter.acquire(request("GET", "/actuator/health", "10.0.0.1", null)));
+            }
+            assertEquals(0, rateLimiter.size());
+        }
+
+        @Test
+        @DisplayName("Should evict idle buckets")
+        void testEviction() throws Exception {
+            Rule fastRefill = rule("api", null, "/api/v1/**", KeyType.IP, 1);
+            fastRefill.setPeriod(Duration.ofNanos(1_000));
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setIdleTimeout(Duration.ofMillis(1));
+            properties.setRules(List.of(fastRefill));
+            RateLimiter limiter = new RateLimiter(properties, jwtTokenProvider, meterRegistry);
+
+            limiter.acquire(request("GET", "/api/v1/feedback", "10.0.0.1", null));
+            assertEquals(1, limiter.size());
+
+            Thread.sleep(5);
+            limiter.evictIdleBuckets();
+
+            assertEquals(0, limiter.size());
+        }
+
+        @Test
+        @DisplayName("Should answer 429 with Retry-After once the limit is exceeded")
+        void testFilterRejects() throws Exception {
+            RateLimitFilter filter = new RateLimitFilter(rateLimiter, new ObjectMapper().findAndRegisterModules());
+
+            MockHttpServletResponse allowed = new MockHttpServletResponse();
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(request("GET", "/api/v1/feedback", "10.0.0.1", null), allowed, new MockFilterChain());
+            filter.doFilter(request("GET", "/api/v1/feedback", "10.0.0.1", null), allowed, new MockFilterChain());
+            filter.doFilter(request("GET", "/api/v1/feedback", "10.0.0.1", null), rejected, new MockFilterChain());
+
+            assertEquals(200, allowed.getStatus());
+            assertEquals(429, rejected.getStatus());
+            assertEquals("30", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("Too Many Requests"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for RateLimitProperties")
+    class RateLimitPropertiesTests {
+
+        private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(RateLimitConfiguration.class)
+                .withPropertyValues(
+                        "feedback.rate-limit.rules[0].name=auth",
+                        "feedback.rate-limit.rules[0].path=/api/v1/auth/**");
+
+        @Test
+        @DisplayName("Should bind a valid rule")
+        void testValidRule() {
+            contextRunner.withPropertyValues("feedback.rate-limit.rules[0].limit=10")
+                    .run(context -> assertNull(context.getStartupFailure()));
+        }
+
+        @Test
+        @DisplayName("Should refuse to start with a zero limit")
+        void testZeroLimit() {
+            contextRunner.withPropertyValues("feedback.rate-limit.rules[0].limit=0")
+                    .run(context -> assertFailure(context.getStartupFailure(), "rules[0].limit"));
+        }
+
+        @Test
+        @DisplayName("Should refuse to start with a negative burst")
+        void testNegativeBurst() {
+            contextRunner.withPropertyValues(
+                            "feedback.rate-limit.rules[0].limit=10",
+                            "feedback.rate-limit.rules[0].burst=-1")
+                    .run(context -> assertFailure(context.getStartupFailure(), "rules[0].burst"));
+        }
+
+        private static void assertFailure(Throwable failure, String field) {
+            assertNotNull(failure);
+            Throwable cause = failure;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage().contains(field), cause.getMessage());
+        }
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class RateLimitConfiguration {
+    }
+
+    private static Rule rule(String name, String method, String path, KeyType key, int limit) {
+        Rule rule = new Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setKey(key);
+        rule.setLimit(limit);
+        rule.setPeriod(Duration.ofMinutes(1));
+        return rule;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String address, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.feedback.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two independent Postgres instances stand in for the primary and its replica; each is told apart by its
+ * database name.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("primary_db");
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("replica_db");
+
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void startDatabases() {
+        PRIMARY.start();
+        REPLICA.start();
+    }
+
+    @AfterAll
+    static void stopDatabases() {
+        REPLICA.stop();
+        PRIMARY.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        use(List.of(pool(REPLICA.getJdbcUrl(), "replica")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica and read-write transactions to the primary")
+    void testRoutesByTransactionType() {
+        assertEquals("replica_db", currentDatabase(readOnly));
+        assertEquals("primary_db", currentDatabase(readWrite));
+        // Statements outside a transaction may write, so they go to the primary
+        assertEquals("primary_db", jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    @Test
+    @DisplayName("A customer reads from the primary right after their own write; other customers do not")
+    void testReadYourWrites() {
+        authenticate("writer@example.com");
+        currentDatabase(readWrite);
+        assertEquals("primary_db", currentDatabase(readOnly));
+
+        authenticate("reader@example.com");
+        assertEquals("replica_db", currentDatabase(readOnly));
+    }
+
+    @Test
+    @DisplayName("A rolled-back transaction does not pin the customer to the primary")
+    void testRollbackDoesNotPin() {
+        authenticate("writer@example.com");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica_db", currentDatabase(readOnly));
+    }
+
+    @Test
+    @DisplayName("Reads pinned to the primary skip the replicas, and the pin ends with them")
+    void testReadFromPrimary() {
+        assertEquals("primary_db", readOnly.execute(status -> ReplicaRoutingDataSource.readFromPrimary(() ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class))));
+
+        assertEquals("replica_db", currentDatabase(readOnly));
+    }
+
+    @Test
+    @DisplayName("Reads fail over to the remaining replica, then to the primary, when replicas are down")
+    void testFailover() {
+        dataSource.close();
+        HikariDataSource unreachable = pool("jdbc:postgresql://localhost:1/feedback_db", "unreachable");
+        HikariDataSource replica = pool(REPLICA.getJdbcUrl(), "replica");
+        use(List.of(unreachable, replica));
+
+        // A refused connection takes the replica out of rotation right away
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica_db", currentDatabase(readOnly));
+        }
+
+        dataSource.checkReplicas();
+        assertEquals(1, dataSource.availableReplicas());
+
+        replica.close();
+        dataSource.checkReplicas();
+        assertEquals(0, dataSource.availableReplicas());
+        assertEquals("primary_db", currentDatabase(readOnly));
+    }
+
+    private void use(List<HikariDataSource> replicas) {
+        dataSource = new ReplicaRoutingDataSource(pool(PRIMARY.getJdbcUrl(), "primary"), replicas,
+                Duration.ofMinutes(1), Duration.ofSeconds(10));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String currentDatabase(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private static void authenticate(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+        SecurityContextHolder.setContext(context);
+    }
+
+    private static HikariDataSource pool(String jdbcUrl, String name) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(PRIMARY.getUsername());
+        config.setPassword(PRIMARY.getPassword());
+        config.setPoolName(name);
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(250);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
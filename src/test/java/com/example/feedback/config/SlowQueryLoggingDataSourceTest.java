@@ -0,0 +1,93 @@
+package com.example.feedback.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlowQueryLoggingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private Statement statement;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        statement = mock(Statement.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @Test
+    @DisplayName("Should count executions at or above the threshold and delegate every call")
+    void testCountsSlowStatements() throws SQLException {
+        SlowQueryLoggingDataSource dataSource = new SlowQueryLoggingDataSource(target, Duration.ZERO, 0.0,
+                meterRegistry);
+        when(preparedStatement.executeUpdate()).thenReturn(3);
+
+        try (Connection timed = dataSource.getConnection()) {
+            PreparedStatement timedStatement = timed.prepareStatement("SELECT 1");
+            timedStatement.setLong(1, 42L);
+            assertEquals(3, timedStatement.executeUpdate());
+            timed.createStatement().execute("SELECT 2");
+        }
+
+        verify(preparedStatement).setLong(1, 42L);
+        verify(statement).execute("SELECT 2");
+        verify(connection).close();
+        assertEquals(2.0, slowStatements());
+    }
+
+    @Test
+    @DisplayName("Should not count executions below the threshold")
+    void testIgnoresFastStatements() throws SQLException {
+        SlowQueryLoggingDataSource dataSource = new SlowQueryLoggingDataSource(target, Duration.ofHours(1), 1.0,
+                meterRegistry);
+
+        try (Connection timed = dataSource.getConnection()) {
+            timed.prepareStatement("SELECT 1").executeQuery();
+        }
+
+        assertEquals(0.0, slowStatements());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the driver's exception and still time the failed execution")
+    void testRethrowsFailures() throws SQLException {
+        SlowQueryLoggingDataSource dataSource = new SlowQueryLoggingDataSource(target, Duration.ZERO, 1.0,
+                meterRegistry);
+        SQLException failure = new SQLException("canceling statement due to statement timeout");
+        when(preparedStatement.executeQuery()).thenThrow(failure);
+
+        try (Connection timed = dataSource.getConnection()) {
+            PreparedStatement timedStatement = timed.prepareStatement("SELECT 1");
+            assertEquals(failure, assertThrows(SQLException.class, timedStatement::executeQuery));
+        }
+
+        assertEquals(1.0, slowStatements());
+    }
+
+    private double slowStatements() {
+        return meterRegistry.get("feedback.datasource.slow.statements").counter().count();
+    }
+}
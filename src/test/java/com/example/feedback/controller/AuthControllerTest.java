@@ -4,6 +4,7 @@ import com.example.feedback.dto.CustomerDTO;
 import com.example.feedback.dto.LoginResponseDTO;
 import com.example.feedback.dto.SignupResponseDTO;
 import com.example.feedback.exception.GlobalExceptionHandler;
+import com.example.feedback.exception.ServiceOverloadedException;
 import com.example.feedback.service.CustomerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +19,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -141,5 +144,26 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.error").value("Unauthorized"))
                     .andExpect(jsonPath("$.details").value("Invalid email or password"));
         }
+
+        @Test
+        @DisplayName("Should return 503 with Retry-After when password hashing is overloaded")
+        void testLoginOverloaded() throws Exception {
+            Mockito.when(customerService.login(any(CustomerDTO.class)))
+                    .thenThrow(new ServiceOverloadedException("Too many authentication requests in progress.",
+                            Duration.ofSeconds(2)));
+
+            mockMvc.perform(post("/api/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                      "email": "test@example.com",
+                                      "password": "Pass123!"
+                                    }
+                                    """))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.status").value(503))
+                    .andExpect(jsonPath("$.error").value("Service Unavailable"));
+        }
     }
 }
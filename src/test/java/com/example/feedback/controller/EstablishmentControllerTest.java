@@ -0,0 +1,71 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.dto.LeaderboardEntryDTO;
+import com.example.feedback.exception.GlobalExceptionHandler;
+import com.example.feedback.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstablishmentControllerTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @InjectMocks
+    private EstablishmentController establishmentController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(establishmentController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the leaderboard of the requested type")
+    void testGetTopEstablishments() throws Exception {
+        Mockito.when(leaderboardService.findTop("RESTAURANT", 5)).thenReturn(List.of(
+                LeaderboardEntryDTO.builder()
+                        .rank(1)
+                        .establishmentId(2L)
+                        .name("Consistently Good")
+                        .type("RESTAURANT")
+                        .reviewCount(100)
+                        .mean(8.5)
+                        .score(8.47)
+                        .build()));
+
+        mockMvc.perform(get("/api/v1/establishments/top")
+                        .param("type", "RESTAURANT")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].establishmentId").value(2))
+                .andExpect(jsonPath("$[0].name").value("Consistently Good"))
+                .andExpect(jsonPath("$[0].reviewCount").value(100));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the type is missing")
+    void testGetTopEstablishmentsWithoutType() throws Exception {
+        mockMvc.perform(get("/api/v1/establishments/top"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.config.JwtTokenProvider;
+import com.example.feedback.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the embedded Tomcat, since compression happens in the connector and MockMvc never reaches it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FeedbackCompressionIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("Should gzip the feedback listing and keep its ETag")
+    void testListingIsCompressed() throws Exception {
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Compressed', 'RESTAURANT') RETURNING id", Long.class);
+        Customer customer = null;
+        // Five full-length comments put the body well past the 2KB compression threshold
+        for (int i = 0; i < 5; i++) {
+            customer = new Customer();
+            customer.setEmail(UUID.randomUUID() + "@example.com");
+            customer.setId(jdbcTemplate.queryForObject(
+                    "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id",
+                    Long.class, customer.getEmail()));
+            jdbcTemplate.update("INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score) "
+                    + "VALUES (?, ?, 'Long', ?, 7)", customer.getId(), establishmentId, "x".repeat(1000));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/feedback?establishmentId=" + establishmentId))
+                .header("Authorization", "Bearer " + jwtTokenProvider.generateToken(customer))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertTrue(new String(body.readAllBytes()).contains("x".repeat(1000)));
+        }
+    }
+}
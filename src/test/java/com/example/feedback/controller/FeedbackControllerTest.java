@@ -1,9 +1,18 @@
 package com.example.feedback.controller;
 
+import com.example.feedback.dto.EstablishmentFeedbackDTO;
 import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackPageDTO;
 import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.RatingSummaryDTO;
+import com.example.feedback.exception.InvalidCursorException;
 import com.example.feedback.exception.GlobalExceptionHandler;
+import com.example.feedback.service.EstablishmentRatingService;
+import com.example.feedback.service.FeedbackEventService;
 import com.example.feedback.service.FeedbackService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.hibernate.exception.JDBCConnectionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,25 +21,56 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 class FeedbackControllerTest {
 
+    private static final String VALID_FEEDBACK = """
+            {
+                "title": "Amazing Service",
+                "textComment": "The service was outstanding!",
+                "score": 5,
+                "establishmentId": 123
+            }
+            """;
+
     @Mock
     private FeedbackService feedbackService;
 
+    @Mock
+    private EstablishmentRatingService establishmentRatingService;
+
+    @Mock
+    private FeedbackEventService feedbackEventService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private FeedbackController feedbackController;
 
@@ -38,6 +78,7 @@ class FeedbackControllerTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(feedbackController, "listingCacheControl", "private, no-cache");
         mockMvc = MockMvcBuilders
                 .standaloneSetup(feedbackController)
                 .setControllerAdvice(new GlobalExceptionHandler())
@@ -103,6 +144,35 @@ class FeedbackControllerTest {
                     .andExpect(jsonPath("$.validationErrors.score").value("must be greater than or equal to 0"))
                     .andExpect(jsonPath("$.validationErrors.establishmentId").value("must not be null"));
         }
+
+        @Test
+        @DisplayName("Should return 409 when a unique constraint rejects the insert")
+        void testCreateFeedbackUniqueViolation() throws Exception {
+            Mockito.when(feedbackService.createFeedback(any(FeedbackDTO.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key",
+                            new SQLException("duplicate key value violates unique constraint", "23505")));
+
+            mockMvc.perform(post("/api/v1/feedback")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(VALID_FEEDBACK))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.status").value(409));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when any other constraint rejects the insert")
+        void testCreateFeedbackOtherConstraintViolation() throws Exception {
+            Mockito.when(feedbackService.createFeedback(any(FeedbackDTO.class)))
+                    .thenThrow(new DataIntegrityViolationException("value too long",
+                            new SQLException("value too long for type character varying(255)", "22001")));
+
+            mockMvc.perform(post("/api/v1/feedback")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(VALID_FEEDBACK))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value(400))
+                    .andExpect(jsonPath("$.details").value("The request violates a data constraint."));
+        }
     }
 
     @Nested
@@ -147,7 +217,59 @@ class FeedbackControllerTest {
                     .andExpect(jsonPath("$[1].id").value(2L))
                     .andExpect(jsonPath("$[1].title").value("Good Service"))
                     .andExpect(jsonPath("$[1].textComment").value("The staff was very friendly."))
-                    .andExpect(jsonPath("$[1].score").value(4));
+                    .andExpect(jsonPath("$[1].score").value(4))
+                    .andExpect(header().string("ETag", "W/\"123-0\""))
+                    .andExpect(header().string("Cache-Control", "private, no-cache"));
+        }
+
+        @Test
+        @DisplayName("Should return 304 without reading feedback when the ETag still matches")
+        void testGetFeedbackByEstablishmentNotModified() throws Exception {
+            Mockito.when(establishmentRatingService.getVersion(123L)).thenReturn(7L);
+
+            mockMvc.perform(get("/api/v1/feedback")
+                            .param("establishmentId", "123")
+                            .header("If-None-Match", "\"123-7\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "W/\"123-7\""));
+
+            Mockito.verify(feedbackService, Mockito.never()).findByEstablishmentId(any());
+        }
+
+        @Test
+        @DisplayName("Should return 200 with a new ETag once the version has changed")
+        void testGetFeedbackByEstablishmentModified() throws Exception {
+            Mockito.when(establishmentRatingService.getVersion(123L)).thenReturn(8L);
+            Mockito.when(feedbackService.findByEstablishmentId(123L)).thenReturn(List.of());
+
+            mockMvc.perform(get("/api/v1/feedback")
+                            .param("establishmentId", "123")
+                            .header("If-None-Match", "\"123-7\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "W/\"123-8\""));
+        }
+
+        @Test
+        @DisplayName("Should return CBOR when the client asks for it")
+        void testGetFeedbackByEstablishmentAsCbor() throws Exception {
+            FeedbackResponseDTO feedback = FeedbackResponseDTO.builder()
+                    .id(1L)
+                    .title("Great Food")
+                    .score(5)
+                    .build();
+            Mockito.when(feedbackService.findByEstablishmentId(123L)).thenReturn(List.of(feedback));
+
+            MvcResult result = mockMvc.perform(get("/api/v1/feedback")
+                            .param("establishmentId", "123")
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            FeedbackResponseDTO[] decoded = new CBORMapper().findAndRegisterModules()
+                    .readValue(result.getResponse().getContentAsByteArray(), FeedbackResponseDTO[].class);
+            assertEquals(1, decoded.length);
+            assertEquals("Great Food", decoded[0].getTitle());
         }
 
         @Test
@@ -161,6 +283,247 @@ class FeedbackControllerTest {
                     .andExpect(jsonPath("$.error").value("Type Mismatch"))
                     .andExpect(jsonPath("$.details").value("Invalid value for parameter: establishmentId"));
         }
+
+        @Test
+        @DisplayName("Should return 503 with Retry-After when no database connection is available in time")
+        void testGetFeedbackByEstablishmentNoConnection() throws Exception {
+            SQLTransientConnectionException bulkheadFull = new SQLTransientConnectionException(
+                    "Connection bulkhead full: no connection available within 250 ms");
+            Mockito.when(feedbackService.findByEstablishmentId(123L))
+                    .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                            new JDBCConnectionException("Unable to acquire JDBC Connection", bulkheadFull)));
+
+            mockMvc.perform(get("/api/v1/feedback")
+                            .param("establishmentId", "123")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.status").value(503))
+                    .andExpect(jsonPath("$.details").value(bulkheadFull.getMessage()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getFeedbackPageByEstablishment")
+    class GetFeedbackPageByEstablishmentTests {
+
+        @Test
+        @DisplayName("Should return 200 with items and the next cursor")
+        void testGetFeedbackPageSuccess() throws Exception {
+            FeedbackPageDTO page = FeedbackPageDTO.builder()
+                    .items(List.of(FeedbackResponseDTO.builder().id(5L).title("Great Food").score(5).build()))
+                    .nextCursor("abc")
+                    .build();
+
+            Mockito.when(feedbackService.findPageByEstablishmentId(eq(123L), isNull(), eq(1)))
+                    .thenReturn(page);
+
+            mockMvc.perform(get("/api/v1/feedback/page")
+                            .param("establishmentId", "123")
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(1))
+                    .andExpect(jsonPath("$.items[0].id").value(5L))
+                    .andExpect(jsonPath("$.nextCursor").value("abc"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the cursor is malformed")
+        void testGetFeedbackPageInvalidCursor() throws Exception {
+            Mockito.when(feedbackService.findPageByEstablishmentId(eq(123L), eq("bad"), isNull()))
+                    .thenThrow(new InvalidCursorException("Invalid cursor: bad"));
+
+            mockMvc.perform(get("/api/v1/feedback/page")
+                            .param("establishmentId", "123")
+                            .param("cursor", "bad"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value(400))
+                    .andExpect(jsonPath("$.details").value("Invalid cursor: bad"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getLatestFeedbackByEstablishments")
+    class GetLatestFeedbackByEstablishmentsTests {
+
+        @Test
+        @DisplayName("Should bind comma-separated ids and return the feedbacks grouped per establishment")
+        void testGetLatestFeedbackSuccess() throws Exception {
+            List<EstablishmentFeedbackDTO> latest = List.of(
+                    EstablishmentFeedbackDTO.builder()
+                            .establishmentId(1L)
+                            .items(List.of(FeedbackResponseDTO.builder().id(5L).title("Great Food").score(9).build()))
+                            .build(),
+                    EstablishmentFeedbackDTO.builder().establishmentId(2L).items(List.of()).build());
+
+            Mockito.when(feedbackService.findLatestByEstablishmentIds(any())).thenReturn(latest);
+
+            mockMvc.perform(get("/api/v1/feedback/latest")
+                            .param("establishmentIds", "1,2")
+                            .param("size", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].establishmentId").value(1L))
+                    .andExpect(jsonPath("$[0].items[0].title").value("Great Food"))
+                    .andExpect(jsonPath("$[1].items.length()").value(0));
+
+            Mockito.verify(feedbackService).findLatestByEstablishmentIds(Mockito.argThat(request ->
+                    request.getEstablishmentIds().equals(List.of(1L, 2L)) && request.getSize() == 3));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when ids are missing or the size is out of range")
+        void testGetLatestFeedbackValidationError() throws Exception {
+            mockMvc.perform(get("/api/v1/feedback/latest")
+                            .param("size", "51"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.validationErrors.establishmentIds").exists())
+                    .andExpect(jsonPath("$.validationErrors.size").exists());
+
+            Mockito.verifyNoInteractions(feedbackService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for searchFeedback")
+    class SearchFeedbackTests {
+
+        @Test
+        @DisplayName("Should bind keywords and filters and return the page of matches")
+        void testSearchFeedbackSuccess() throws Exception {
+            FeedbackPageDTO page = FeedbackPageDTO.builder()
+                    .items(List.of(FeedbackResponseDTO.builder().id(5L).title("Great pasta").score(9).build()))
+                    .build();
+
+            Mockito.when(feedbackService.search(any())).thenReturn(page);
+
+            mockMvc.perform(get("/api/v1/feedback/search")
+                            .param("q", "pasta")
+                            .param("establishmentId", "123")
+                            .param("minScore", "7")
+                            .param("from", "2024-05-01T00:00:00"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].title").value("Great pasta"));
+
+            Mockito.verify(feedbackService).search(Mockito.argThat(request ->
+                    request.getQ().equals("pasta")
+                            && request.getEstablishmentId() == 123L
+                            && request.getMinScore() == 7
+                            && request.getMaxScore() == null
+                            && request.getFrom().equals(LocalDateTime.of(2024, 5, 1, 0, 0))));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when keywords are missing or a score is out of range")
+        void testSearchFeedbackValidationError() throws Exception {
+            mockMvc.perform(get("/api/v1/feedback/search")
+                            .param("maxScore", "11"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.validationErrors.q").exists())
+                    .andExpect(jsonPath("$.validationErrors.maxScore").exists());
+
+            Mockito.verifyNoInteractions(feedbackService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for streamFeedbackByEstablishment")
+    class StreamFeedbackByEstablishmentTests {
+
+        @Test
+        @DisplayName("Should stream feedbacks as newline-delimited JSON")
+        @SuppressWarnings("unchecked")
+        void testStreamFeedback() throws Exception {
+            Mockito.doAnswer(invocation -> {
+                Consumer<FeedbackResponseDTO> consumer = invocation.getArgument(1);
+                consumer.accept(FeedbackResponseDTO.builder().id(2L).title("Second").score(4).build());
+                consumer.accept(FeedbackResponseDTO.builder().id(1L).title("First").score(5).build());
+                return null;
+            }).when(feedbackService).streamByEstablishmentId(eq(123L), any(Consumer.class));
+
+            MvcResult result = mockMvc.perform(get("/api/v1/feedback/stream")
+                            .param("establishmentId", "123"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].contains("\"id\":2"));
+            assertTrue(lines[1].contains("\"id\":1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for streamFeedbackEvents")
+    class StreamFeedbackEventsTests {
+
+        @Test
+        @DisplayName("Should keep the response open and relay events as Server-Sent Events")
+        void testStreamFeedbackEvents() throws Exception {
+            SseEmitter emitter = new SseEmitter();
+            Mockito.when(feedbackEventService.subscribe(123L)).thenReturn(emitter);
+
+            MvcResult result = mockMvc.perform(get("/api/v1/feedback/events")
+                            .param("establishmentId", "123"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            emitter.send(SseEmitter.event().id("1").name("created").data("{\"feedbackId\":7}"));
+            emitter.complete();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertTrue(body.contains("id:1"), body);
+            assertTrue(body.contains("event:created"), body);
+            assertTrue(body.contains("data:{\"feedbackId\":7}"), body);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getRatingSummary")
+    class GetRatingSummaryTests {
+
+        @Test
+        @DisplayName("Should return 200 with count, mean and histogram")
+        void testGetRatingSummarySuccess() throws Exception {
+            long[] histogram = new long[11];
+            histogram[8] = 1;
+            histogram[10] = 1;
+            Mockito.when(establishmentRatingService.getSummary(123L))
+                    .thenReturn(RatingSummaryDTO.builder()
+                            .establishmentId(123L)
+                            .count(2)
+                            .mean(9.0)
+                            .histogram(histogram)
+                            .build());
+
+            mockMvc.perform(get("/api/v1/feedback/rating")
+                            .param("establishmentId", "123"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.count").value(2))
+                    .andExpect(jsonPath("$.mean").value(9.0))
+                    .andExpect(jsonPath("$.histogram.length()").value(11))
+                    .andExpect(jsonPath("$.histogram[10]").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the establishment does not exist")
+        void testGetRatingSummaryNotFound() throws Exception {
+            Mockito.when(establishmentRatingService.getSummary(123L))
+                    .thenThrow(new IllegalArgumentException("Establishment with ID 123 not found."));
+
+            mockMvc.perform(get("/api/v1/feedback/rating")
+                            .param("establishmentId", "123"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.details").value("Establishment with ID 123 not found."));
+        }
     }
 
     @Nested
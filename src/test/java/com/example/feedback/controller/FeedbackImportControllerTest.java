@@ -0,0 +1,72 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.dto.FeedbackImportErrorDTO;
+import com.example.feedback.dto.FeedbackImportResultDTO;
+import com.example.feedback.exception.GlobalExceptionHandler;
+import com.example.feedback.service.FeedbackImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackImportControllerTest {
+
+    @Mock
+    private FeedbackImportService feedbackImportService;
+
+    @InjectMocks
+    private FeedbackImportController feedbackImportController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(feedbackImportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return 200 with import counts and per-line errors")
+    void testImportFeedback() throws Exception {
+        Mockito.when(feedbackImportService.importFeedback(any(InputStream.class)))
+                .thenReturn(FeedbackImportResultDTO.builder()
+                        .total(2)
+                        .imported(1)
+                        .failed(1)
+                        .errors(List.of(FeedbackImportErrorDTO.builder().line(2).message("Malformed record").build()))
+                        .build());
+
+        mockMvc.perform(post("/api/v1/feedback/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"customerId\":1,\"establishmentId\":2,\"title\":\"Ok\",\"score\":5}\n{oops"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 415 when the body is not NDJSON")
+    void testImportFeedbackWrongContentType() throws Exception {
+        mockMvc.perform(post("/api/v1/feedback/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
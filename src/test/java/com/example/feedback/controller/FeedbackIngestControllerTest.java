@@ -0,0 +1,131 @@
+package com.example.feedback.controller;
+
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO.Status;
+import com.example.feedback.exception.GlobalExceptionHandler;
+import com.example.feedback.exception.ServiceOverloadedException;
+import com.example.feedback.service.FeedbackIngestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackIngestControllerTest {
+
+    private static final String VALID_FEEDBACK = """
+            {
+                "title": "Amazing Service",
+                "score": 5,
+                "establishmentId": 123
+            }
+            """;
+
+    @Mock
+    private FeedbackIngestService feedbackIngestService;
+
+    @InjectMocks
+    private FeedbackIngestController feedbackIngestController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(feedbackIngestController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return 202 with the tracking id and its status location")
+    void testSubmitFeedbackAccepted() throws Exception {
+        UUID ingestId = UUID.fromString("3f2b8c1e-7a45-4d0e-9c61-2b7f5e8a9d10");
+        Mockito.when(feedbackIngestService.submit(any(FeedbackDTO.class)))
+                .thenReturn(FeedbackIngestStatusDTO.builder().ingestId(ingestId).status(Status.PENDING).build());
+
+        mockMvc.perform(post("/api/v1/feedback/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(VALID_FEEDBACK))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/feedback/ingest/" + ingestId))
+                .andExpect(jsonPath("$.ingestId").value(ingestId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 without accepting invalid feedback")
+    void testSubmitFeedbackValidationError() throws Exception {
+        mockMvc.perform(post("/api/v1/feedback/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "title": "",
+                                    "score": 11
+                                }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.title").exists())
+                .andExpect(jsonPath("$.validationErrors.score").exists());
+
+        Mockito.verifyNoInteractions(feedbackIngestService);
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the backlog is full")
+    void testSubmitFeedbackOverloaded() throws Exception {
+        Mockito.when(feedbackIngestService.submit(any(FeedbackDTO.class)))
+                .thenThrow(new ServiceOverloadedException("Too much feedback is waiting to be written.", Duration.ofSeconds(5)));
+
+        mockMvc.perform(post("/api/v1/feedback/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(VALID_FEEDBACK))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    @DisplayName("Should return the outcome of a submission")
+    void testGetStatus() throws Exception {
+        UUID ingestId = UUID.randomUUID();
+        Mockito.when(feedbackIngestService.getStatus(ingestId))
+                .thenReturn(FeedbackIngestStatusDTO.builder()
+                        .ingestId(ingestId)
+                        .status(Status.REJECTED)
+                        .error("User has already submitted feedback for this establishment.")
+                        .build());
+
+        mockMvc.perform(get("/api/v1/feedback/ingest/{ingestId}", ingestId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.error").value("User has already submitted feedback for this establishment."));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown tracking id and 400 for a malformed one")
+    void testGetStatusNotFound() throws Exception {
+        UUID ingestId = UUID.randomUUID();
+        Mockito.when(feedbackIngestService.getStatus(ingestId))
+                .thenThrow(new IllegalArgumentException("No feedback found for the given ingest ID: " + ingestId));
+
+        mockMvc.perform(get("/api/v1/feedback/ingest/{ingestId}", ingestId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/feedback/ingest/not-a-uuid"))
+                .andExpect(status().isBadRequest());
+    }
+}
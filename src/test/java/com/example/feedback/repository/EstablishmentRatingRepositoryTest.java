@@ -0,0 +1,75 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.dto.RatingSummaryDTO;
+import com.example.feedback.service.EstablishmentRatingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EstablishmentRatingRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private EstablishmentRatingService establishmentRatingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Recording and removing scores keeps count, sum and histogram in step")
+    void testIncrementalAggregate() {
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Rating Test', 'RESTAURANT') RETURNING id", Long.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            establishmentRatingService.recordScore(establishmentId, 10);
+            establishmentRatingService.recordScore(establishmentId, 8);
+            establishmentRatingService.recordScore(establishmentId, 8);
+            establishmentRatingService.removeScore(establishmentId, 10);
+        });
+
+        RatingSummaryDTO summary = establishmentRatingService.getSummary(establishmentId);
+
+        long[] expected = new long[11];
+        expected[8] = 2;
+        assertEquals(2, summary.getCount());
+        assertEquals(8.0, summary.getMean());
+        assertArrayEquals(expected, summary.getHistogram());
+    }
+
+    @Test
+    @DisplayName("Every recorded or removed score bumps the version")
+    void testVersionBumps() {
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Version Test', 'RESTAURANT') RETURNING id", Long.class);
+        assertEquals(0, establishmentRatingService.getVersion(establishmentId));
+
+        transactionTemplate.executeWithoutResult(status -> establishmentRatingService.recordScore(establishmentId, 7));
+        long afterCreate = establishmentRatingService.getVersion(establishmentId);
+        transactionTemplate.executeWithoutResult(status -> establishmentRatingService.removeScore(establishmentId, 7));
+        long afterDelete = establishmentRatingService.getVersion(establishmentId);
+
+        assertEquals(1, afterCreate);
+        assertEquals(2, afterDelete);
+    }
+
+    @Test
+    @DisplayName("An establishment without reviews has an empty summary")
+    void testEmptySummary() {
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('No Reviews', 'SHOP') RETURNING id", Long.class);
+
+        RatingSummaryDTO summary = establishmentRatingService.getSummary(establishmentId);
+
+        assertEquals(0, summary.getCount());
+        assertArrayEquals(new long[11], summary.getHistogram());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.repository.FeedbackIngestLog.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackIngestLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Records are read back in order and not again once committed")
+    void testAppendReadCommit() {
+        FeedbackIngestLog log = new FeedbackIngestLog(directory, SEGMENT_SIZE, false);
+        log.append(bytes("a"));
+        log.append(bytes("b"));
+        log.append(bytes("c"));
+
+        List<Entry> first = log.read(2);
+        assertEquals(List.of("a", "b"), strings(first));
+
+        log.commit(first.get(1).next());
+        assertEquals(List.of("c"), strings(log.read(10)));
+    }
+
+    @Test
+    @DisplayName("Uncommitted records survive reopening the log and new appends follow them")
+    void testRecovery() {
+        FeedbackIngestLog log = new FeedbackIngestLog(directory, SEGMENT_SIZE, true);
+        log.append(bytes("a"));
+        log.append(bytes("b"));
+        log.commit(log.read(1).get(0).next());
+        log.close();
+
+        FeedbackIngestLog reopened = new FeedbackIngestLog(directory, SEGMENT_SIZE, true);
+        List<String> recovered = new ArrayList<>();
+        reopened.forEachUncommitted(payload -> recovered.add(new String(payload, StandardCharsets.UTF_8)));
+        reopened.append(bytes("c"));
+
+        assertEquals(List.of("b"), recovered);
+        assertEquals(List.of("b", "c"), strings(reopened.read(10)));
+    }
+
+    @Test
+    @DisplayName("Records roll over into new segments, and drained segments are deleted")
+    void testSegmentRollover() throws IOException {
+        FeedbackIngestLog log = new FeedbackIngestLog(directory, SEGMENT_SIZE, false);
+        byte[] payload = new byte[300];
+        for (int i = 0; i < 10; i++) {
+            payload[0] = (byte) i;
+            log.append(payload.clone());
+        }
+        assertTrue(log.segmentCount() > 1);
+
+        List<Entry> entries = log.read(100);
+        assertEquals(10, entries.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, entries.get(i).payload()[0]);
+        }
+
+        log.commit(entries.get(9).next());
+        assertEquals(1, log.segmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().endsWith(".log")).count());
+        }
+    }
+
+    @Test
+    @DisplayName("A torn record at the tail is discarded on recovery and overwritten by the next append")
+    void testTornTail() throws IOException {
+        FeedbackIngestLog log = new FeedbackIngestLog(directory, SEGMENT_SIZE, true);
+        log.append(bytes("a"));
+        log.append(bytes("b"));
+        log.close();
+
+        // Corrupt the payload of "b", as if the crash happened before its bytes reached the disk
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'x'}), 8 + 1 + 8);
+        }
+
+        FeedbackIngestLog reopened = new FeedbackIngestLog(directory, SEGMENT_SIZE, true);
+        reopened.append(bytes("c"));
+
+        assertEquals(List.of("a", "c"), strings(reopened.read(10)));
+    }
+
+    @Test
+    @DisplayName("Concurrent forced appends across segments are all recovered, with no gap before any of them")
+    void testConcurrentForcedAppends() throws Exception {
+        FeedbackIngestLog log = new FeedbackIngestLog(directory, SEGMENT_SIZE, true);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> appends = IntStream.range(0, 200)
+                    .mapToObj(i -> executor.submit(() -> log.append(bytes("record-" + i))))
+                    .toList();
+            for (Future<?> append : appends) {
+                append.get();
+            }
+        }
+        log.close();
+
+        FeedbackIngestLog reopened = new FeedbackIngestLog(directory, SEGMENT_SIZE, true);
+        List<String> recovered = new ArrayList<>();
+        reopened.forEachUncommitted(payload -> recovered.add(new String(payload, StandardCharsets.UTF_8)));
+
+        assertEquals(200, recovered.size());
+        assertEquals(IntStream.range(0, 200).mapToObj(i -> "record-" + i).sorted().toList(),
+                recovered.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("A record larger than a segment is refused")
+    void testOversizedRecord() {
+        FeedbackIngestLog log = new FeedbackIngestLog(directory, SEGMENT_SIZE, false);
+
+        assertThrows(IllegalArgumentException.class, () -> log.append(new byte[SEGMENT_SIZE]));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
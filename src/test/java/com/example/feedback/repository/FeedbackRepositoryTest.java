@@ -0,0 +1,99 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.dto.FeedbackPageDTO;
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.service.FeedbackService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FeedbackRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Listing feedback issues one statement regardless of the number of reviews")
+    void testListingStatementCountIsConstant() {
+        long smallEstablishment = seedEstablishmentWithFeedback(10);
+        long largeEstablishment = seedEstablishmentWithFeedback(1_000);
+
+        statistics.clear();
+        List<FeedbackResponseDTO> small = feedbackService.findByEstablishmentId(smallEstablishment);
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<FeedbackResponseDTO> large = feedbackService.findByEstablishmentId(largeEstablishment);
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(10, small.size());
+        assertEquals(1_000, large.size());
+        assertEquals(1, largeStatements);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    @Test
+    @DisplayName("Paging and streaming issue one statement per call")
+    void testPagingAndStreamingStatementCount() {
+        long establishmentId = seedEstablishmentWithFeedback(1_000);
+
+        statistics.clear();
+        FeedbackPageDTO page = feedbackService.findPageByEstablishmentId(establishmentId, null, 100);
+        assertEquals(100, page.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        feedbackService.findPageByEstablishmentId(establishmentId, page.getNextCursor(), 100);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<FeedbackResponseDTO> streamed = new ArrayList<>();
+        feedbackService.streamByEstablishmentId(establishmentId, streamed::add);
+        assertEquals(1_000, streamed.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Creates an establishment with {@code reviews} feedbacks, each from a distinct new customer.
+     */
+    private long seedEstablishmentWithFeedback(int reviews) {
+        String tag = UUID.randomUUID().toString();
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, address, type) VALUES (?, 'Test St', 'RESTAURANT') RETURNING id",
+                Long.class, "Establishment " + tag);
+        jdbcTemplate.update(
+                "INSERT INTO customer (email, password_hash) " +
+                        "SELECT ? || '-' || g || '@example.com', 'hash' FROM generate_series(1, ?) g",
+                tag, reviews);
+        jdbcTemplate.update(
+                "INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score) " +
+                        "SELECT c.id, ?, 'Title', 'Comment', c.id % 11 FROM customer c WHERE c.email LIKE ?",
+                establishmentId, tag + "-%");
+        return establishmentId;
+    }
+}
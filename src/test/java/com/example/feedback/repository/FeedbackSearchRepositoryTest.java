@@ -0,0 +1,124 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.dto.FeedbackPageDTO;
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.FeedbackSearchRequest;
+import com.example.feedback.service.FeedbackService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackSearchRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String keyword;
+    private Long establishmentId;
+
+    @BeforeEach
+    void setUp() {
+        // A word no other test writes, so matches are confined to the rows seeded here
+        keyword = "zz" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Search Test', 'RESTAURANT') RETURNING id", Long.class);
+    }
+
+    @Test
+    @DisplayName("Title matches rank above comment matches and non-matching feedback is excluded")
+    void testRanking() {
+        long inComment = insertFeedback("Nice evening", "The " + keyword + " was superb", 8, LocalDateTime.now());
+        long inTitle = insertFeedback("Best " + keyword + " in town", "Would come again", 9, LocalDateTime.now());
+        insertFeedback("Nice evening", "Nothing to report", 5, LocalDateTime.now());
+
+        List<Long> ids = search(request()).getItems().stream().map(FeedbackResponseDTO::getId).toList();
+
+        assertEquals(List.of(inTitle, inComment), ids);
+    }
+
+    @Test
+    @DisplayName("Establishment, score and date filters narrow the matches")
+    void testFilters() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        long match = insertFeedback("Title", keyword, 8, now);
+        insertFeedback("Title", keyword, 3, now);
+        insertFeedback("Title", keyword, 8, now.minusDays(10));
+
+        FeedbackSearchRequest request = request();
+        request.setEstablishmentId(establishmentId);
+        request.setMinScore(6);
+        request.setMaxScore(10);
+        request.setFrom(now.minusDays(1));
+        request.setTo(now.plusDays(1));
+
+        List<Long> ids = search(request).getItems().stream().map(FeedbackResponseDTO::getId).toList();
+
+        assertEquals(List.of(match), ids);
+    }
+
+    @Test
+    @DisplayName("Following cursors visits every match exactly once, in rank order")
+    void testPaging() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Equal ranks for most rows exercise the id tie-breaker of the cursor
+            String comment = i % 3 == 0 ? keyword + " " + keyword : keyword;
+            expected.add(insertFeedback("Title " + i, comment, 5, LocalDateTime.now()));
+        }
+
+        FeedbackSearchRequest request = request();
+        request.setSize(3);
+        List<Long> visited = new ArrayList<>();
+        int pages = 0;
+        FeedbackPageDTO page;
+        do {
+            page = search(request);
+            page.getItems().forEach(feedback -> visited.add(feedback.getId()));
+            request.setCursor(page.getNextCursor());
+            pages++;
+        } while (page.getNextCursor() != null);
+
+        assertEquals(3, pages);
+        assertEquals(expected.size(), visited.size());
+        assertTrue(visited.containsAll(expected));
+        assertNull(page.getNextCursor());
+    }
+
+    private FeedbackSearchRequest request() {
+        FeedbackSearchRequest request = new FeedbackSearchRequest();
+        request.setQ(keyword);
+        return request;
+    }
+
+    private FeedbackPageDTO search(FeedbackSearchRequest request) {
+        return feedbackService.search(request);
+    }
+
+    /**
+     * Inserts a feedback from a new customer, so the one-feedback-per-customer constraint never interferes.
+     */
+    private long insertFeedback(String title, String textComment, int score, LocalDateTime createTime) {
+        Long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id",
+                Long.class, UUID.randomUUID() + "@example.com");
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score, create_time) " +
+                        "VALUES (?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class, customerId, establishmentId, title, textComment, score, createTime);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.dto.EstablishmentFeedbackDTO;
+import com.example.feedback.dto.FeedbackBatchRequest;
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.service.FeedbackService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatestFeedbackRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Each establishment gets its own newest feedbacks, up to the size, in request order")
+    void testLatestPerEstablishment() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Long busy = insertEstablishment("Busy");
+        Long quiet = insertEstablishment("Quiet");
+        Long empty = insertEstablishment("Empty");
+        insertFeedback(busy, "Oldest", now.minusDays(3));
+        long middle = insertFeedback(busy, "Middle", now.minusDays(2));
+        long newest = insertFeedback(busy, "Newest", now.minusDays(1));
+        long only = insertFeedback(quiet, "Only", now);
+
+        FeedbackBatchRequest request = new FeedbackBatchRequest();
+        request.setEstablishmentIds(List.of(quiet, busy, empty, -1L));
+        request.setSize(2);
+        List<EstablishmentFeedbackDTO> latest = feedbackService.findLatestByEstablishmentIds(request);
+
+        assertEquals(List.of(quiet, busy, empty, -1L),
+                latest.stream().map(EstablishmentFeedbackDTO::getEstablishmentId).toList());
+        assertEquals(List.of(only), ids(latest.get(0)));
+        assertEquals(List.of(newest, middle), ids(latest.get(1)));
+        assertEquals("Busy", latest.get(1).getItems().get(0).getEstablishmentName());
+        assertTrue(latest.get(2).getItems().isEmpty());
+        assertTrue(latest.get(3).getItems().isEmpty());
+    }
+
+    private static List<Long> ids(EstablishmentFeedbackDTO establishmentFeedback) {
+        return establishmentFeedback.getItems().stream().map(FeedbackResponseDTO::getId).toList();
+    }
+
+    private Long insertEstablishment(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES (?, 'RESTAURANT') RETURNING id", Long.class, name);
+    }
+
+    /**
+     * Inserts a feedback from a new customer, so the one-feedback-per-customer constraint never interferes.
+     */
+    private long insertFeedback(Long establishmentId, String title, LocalDateTime createTime) {
+        Long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id",
+                Long.class, UUID.randomUUID() + "@example.com");
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score, create_time) " +
+                        "VALUES (?, ?, ?, 'Comment', 7, ?) RETURNING id",
+                Long.class, customerId, establishmentId, title, createTime);
+    }
+}
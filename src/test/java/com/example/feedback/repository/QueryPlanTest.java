@@ -0,0 +1,242 @@
+package com.example.feedback.repository;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query method of the JPA repositories against a seeded schema, captures the SQL Hibernate
+ * issues and fails if its plan sequentially scans a table larger than {@link #SEQ_SCAN_ROW_THRESHOLD}.
+ * Statements are planned as generic plans, so the result holds for any parameter value rather than the
+ * ones used here. A query method added without an entry in {@link #queryInvocations()} fails the test too.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.feedback.repository.QueryPlanTest$CapturingStatementInspector")
+class QueryPlanTest extends AbstractPostgresIntegrationTest {
+
+    private static final long SEQ_SCAN_ROW_THRESHOLD = 1_000;
+    private static final int ESTABLISHMENTS = 2_000;
+    private static final int ESTABLISHMENT_TYPES = 200;
+    private static final int CUSTOMERS = 20_000;
+    private static final int REVIEWS_PER_CUSTOMER = 3;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Records every statement Hibernate prepares while {@link #capture} is running.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Long seeded = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM customer WHERE email LIKE 'plan-%@example.com'", Long.class);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+
+        // Many small categories, as in a real catalogue, so filtering by type is selective
+        jdbcTemplate.update("INSERT INTO establishment (name, address, type) " +
+                "SELECT 'Plan ' || g, 'Plan St ' || g, 'TYPE_' || (g % ?) FROM generate_series(1, ?) g",
+                ESTABLISHMENT_TYPES, ESTABLISHMENTS);
+        jdbcTemplate.update("INSERT INTO customer (email, password_hash) " +
+                "SELECT 'plan-' || g || '@example.com', 'hash' FROM generate_series(1, ?) g", CUSTOMERS);
+        jdbcTemplate.update("INSERT INTO feedback (customer_id, establishment_id, title, text_comment, score, create_time) " +
+                "SELECT c.id, e.id, 'Title', 'Comment', (c.id + k) % 11, now() - (c.id * k) * interval '1 minute' " +
+                "FROM customer c " +
+                "CROSS JOIN generate_series(1, ?) k " +
+                "JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM establishment WHERE name LIKE 'Plan %') e " +
+                "ON e.n = (c.id * 7 + k * 131) % ? " +
+                "WHERE c.email LIKE 'plan-%@example.com'",
+                REVIEWS_PER_CUSTOMER, ESTABLISHMENTS);
+        jdbcTemplate.execute("ANALYZE customer, establishment, feedback");
+    }
+
+    @Test
+    @DisplayName("Every repository query method is covered by the plan check")
+    void testEveryQueryMethodIsCovered() {
+        Set<String> declared = Stream.of(FeedbackRepository.class, CustomerRepository.class, EstablishmentRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isDefault() && !method.isSynthetic())
+                        .map(method -> repository.getSimpleName() + "." + method.getName()))
+                .collect(Collectors.toSet());
+
+        assertEquals(declared, queryInvocations().keySet());
+    }
+
+    @Test
+    @DisplayName("No repository query sequentially scans a large table")
+    void testNoLargeSequentialScans() {
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM establishment WHERE name LIKE 'Plan %'", Long.class);
+        Map<String, Runnable> invocations = queryInvocations(establishmentId);
+
+        List<String> violations = new ArrayList<>();
+        invocations.forEach((name, invocation) -> {
+            List<String> statements = capture(invocation);
+            assertFalse(statements.isEmpty(), name + " issued no statements");
+            for (String sql : statements) {
+                findLargeSequentialScans(sql).forEach(table ->
+                        violations.add(name + " sequentially scans " + table + ": " + sql));
+            }
+        });
+
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    private Map<String, Runnable> queryInvocations() {
+        return queryInvocations(-1L);
+    }
+
+    /**
+     * One call per repository query method, keyed by {@code Repository.method}.
+     */
+    private Map<String, Runnable> queryInvocations(Long establishmentId) {
+        Map<String, Runnable> invocations = new LinkedHashMap<>();
+        invocations.put("FeedbackRepository.findResponsesByEstablishmentId",
+                () -> feedbackRepository.findResponsesByEstablishmentId(establishmentId));
+        invocations.put("FeedbackRepository.findByIdAndCustomerId",
+                () -> feedbackRepository.findByIdAndCustomerId(1L, 1L));
+        // An establishment that does not exist, so nothing is inserted
+        invocations.put("FeedbackRepository.insertIfAbsent",
+                () -> feedbackRepository.insertIfAbsent(1L, -1L, "Title", null, 5));
+        invocations.put("FeedbackRepository.findFirstPage",
+                () -> feedbackRepository.findFirstPage(establishmentId, Limit.of(50)));
+        invocations.put("FeedbackRepository.findPageAfter",
+                () -> feedbackRepository.findPageAfter(establishmentId, LocalDateTime.now(), Long.MAX_VALUE, Limit.of(50)));
+        invocations.put("FeedbackRepository.streamByEstablishmentId", () -> {
+            try (Stream<?> feedbackStream = feedbackRepository.streamByEstablishmentId(establishmentId)) {
+                feedbackStream.forEach(feedback -> {
+                });
+            }
+        });
+        invocations.put("CustomerRepository.findByEmail",
+                () -> customerRepository.findByEmail("plan-1@example.com"));
+        invocations.put("EstablishmentRepository.findByType",
+                () -> establishmentRepository.findByType("TYPE_1"));
+        return invocations;
+    }
+
+    /**
+     * Runs the invocation in a transaction that is rolled back and returns the statements it issued.
+     */
+    private List<String> capture(Runnable invocation) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            invocation.run();
+            status.setRollbackOnly();
+        });
+        return new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+    }
+
+    /**
+     * Plans the statement as a prepared, generic plan and returns the large tables it scans sequentially.
+     */
+    private List<String> findLargeSequentialScans(String sql) {
+        // PREPARE takes $n placeholders; the statements contain no literal question marks
+        int parameters = 0;
+        StringBuilder numbered = new StringBuilder();
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PREPARE plan_check AS " + numbered);
+                try {
+                    statement.execute("SET plan_cache_mode = force_generic_plan");
+                    try (ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check" + arguments)) {
+                        resultSet.next();
+                        return resultSet.getString(1);
+                    }
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+
+        List<String> tables = new ArrayList<>();
+        try {
+            collectSequentialScans(objectMapper.readTree(plan).get(0).get("Plan"), tables);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+        return tables.stream()
+                .filter(table -> tableRows(table) > SEQ_SCAN_ROW_THRESHOLD)
+                .toList();
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, tables);
+        }
+    }
+
+    private long tableRows(String table) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        return rows == null ? 0 : rows;
+    }
+}
@@ -1,21 +1,26 @@
 package com.example.feedback.service;
 
+import com.example.feedback.config.JwtTokenProvider;
+import com.example.feedback.config.PasswordHashingExecutor;
 import com.example.feedback.dto.CustomerDTO;
 import com.example.feedback.dto.LoginResponseDTO;
 import com.example.feedback.dto.SignupResponseDTO;
 import com.example.feedback.entity.Customer;
 import com.example.feedback.repository.CustomerRepository;
 import com.example.feedback.service.impl.CustomerServiceImpl;
+import com.example.feedback.service.impl.RegisteredEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,15 +35,30 @@ class CustomerServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     private CustomerServiceImpl customerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        ReflectionTestUtils.setField(customerService, "jwtSecretKey", "XOQ3Xn63ZNwX865KLcGxb6oqkO/nGtniWzkQZb3nUWI4y4oa6d20hh14JByIk8iq3ZnAluXwGKxi6MFKvXyq8g==");
-        ReflectionTestUtils.setField(customerService, "jwtExpirationTime", 86400000L);
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(
+                "XOQ3Xn63ZNwX865KLcGxb6oqkO/nGtniWzkQZb3nUWI4y4oa6d20hh14JByIk8iq3ZnAluXwGKxi6MFKvXyq8g==",
+                86400000L, 100, Duration.ofMinutes(5));
+        passwordHashingExecutor = new PasswordHashingExecutor(
+                passwordEncoder, 1, 4, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        customerService = new CustomerServiceImpl(customerRepository, passwordHashingExecutor, jwtTokenProvider,
+                registeredEmailFilter);
+        when(registeredEmailFilter.mightContain(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
     }
 
     @Nested
@@ -139,5 +159,64 @@ class CustomerServiceImplTest {
             IllegalStateException exception = assertThrows(IllegalStateException.class, () -> customerService.saveUser(customerDTO));
             assertEquals("Email already registered", exception.getMessage());
         }
+
+        @Test
+        @DisplayName("Should skip the lookup and add the email to the filter when the filter has never seen it")
+        void testSaveUserDefiniteMiss() {
+            CustomerDTO customerDTO = new CustomerDTO();
+            customerDTO.setEmail("new@example.com");
+            customerDTO.setPassword("rawPassword");
+
+            Customer savedCustomer = new Customer();
+            savedCustomer.setId(2L);
+            savedCustomer.setEmail("new@example.com");
+
+            when(registeredEmailFilter.mightContain("new@example.com")).thenReturn(false);
+            when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
+            when(customerRepository.save(any(Customer.class))).thenReturn(savedCustomer);
+
+            SignupResponseDTO response = customerService.saveUser(customerDTO);
+
+            assertEquals(2L, response.getId());
+            verify(customerRepository, never()).findByEmail(any());
+            verify(registeredEmailFilter).add("new@example.com");
+        }
+
+        @Test
+        @DisplayName("Should record a false positive when the lookup finds no customer")
+        void testSaveUserFalsePositive() {
+            CustomerDTO customerDTO = new CustomerDTO();
+            customerDTO.setEmail("test@example.com");
+            customerDTO.setPassword("rawPassword");
+
+            Customer savedCustomer = new Customer();
+            savedCustomer.setId(1L);
+            savedCustomer.setEmail("test@example.com");
+
+            when(customerRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+            when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
+            when(customerRepository.save(any(Customer.class))).thenReturn(savedCustomer);
+
+            customerService.saveUser(customerDTO);
+
+            verify(registeredEmailFilter).recordFalsePositive();
+        }
+
+        @Test
+        @DisplayName("Should report a conflict when the unique constraint rejects an email the filter missed")
+        void testSaveUserConstraintConflict() {
+            CustomerDTO customerDTO = new CustomerDTO();
+            customerDTO.setEmail("elsewhere@example.com");
+            customerDTO.setPassword("rawPassword");
+
+            when(registeredEmailFilter.mightContain("elsewhere@example.com")).thenReturn(false);
+            when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
+            when(customerRepository.save(any(Customer.class)))
+                    .thenThrow(new DataIntegrityViolationException("customer_email_key"));
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> customerService.saveUser(customerDTO));
+            assertEquals("Email already registered", exception.getMessage());
+            verify(registeredEmailFilter, never()).add(any());
+        }
     }
 }
@@ -0,0 +1,120 @@
+package com.example.feedback.service;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.config.CacheConfig;
+import com.example.feedback.dto.EstablishmentDTO;
+import com.example.feedback.entity.Establishment;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EstablishmentServiceCacheIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private EstablishmentService establishmentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Repeated lookups by id are served from the cache")
+    void testFindByIdIsCached() {
+        Establishment saved = establishmentService.save(establishment("Cached", "RESTAURANT"));
+
+        statistics.clear();
+        EstablishmentDTO first = establishmentService.findById(saved.getId());
+        EstablishmentDTO second = establishmentService.findById(saved.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertSame(first, second);
+        assertEquals("Cached", second.getName());
+        assertTrue(nativeCache(CacheConfig.ESTABLISHMENTS).stats().hitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Missing establishments are not cached")
+    void testMissingEstablishmentIsNotCached() {
+        assertThrows(IllegalArgumentException.class, () -> establishmentService.findById(Long.MAX_VALUE));
+
+        assertNull(nativeCache(CacheConfig.ESTABLISHMENTS).getIfPresent(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Saving an establishment evicts its snapshot and the per-type lists")
+    void testSaveEvicts() {
+        String type = "TYPE-" + UUID.randomUUID();
+        Establishment saved = establishmentService.save(establishment("Before", type));
+        assertEquals(List.of("Before"), names(establishmentService.findByType(type)));
+        assertEquals("Before", establishmentService.findById(saved.getId()).getName());
+
+        saved.setName("After");
+        establishmentService.save(saved);
+
+        assertEquals("After", establishmentService.findById(saved.getId()).getName());
+        assertEquals(List.of("After"), names(establishmentService.findByType(type)));
+    }
+
+    @Test
+    @DisplayName("A lookup racing an uncommitted save does not keep the old snapshot cached after the commit")
+    void testEvictsAfterCommit() {
+        Establishment saved = establishmentService.save(establishment("Before", "RESTAURANT"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            saved.setName("After");
+            establishmentService.save(saved);
+            // Another request still reads the committed row, and caches it
+            EstablishmentDTO concurrent = CompletableFuture
+                    .supplyAsync(() -> establishmentService.findById(saved.getId()))
+                    .join();
+            assertEquals("Before", concurrent.getName());
+        });
+
+        assertEquals("After", establishmentService.findById(saved.getId()).getName());
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    private static Establishment establishment(String name, String type) {
+        Establishment establishment = new Establishment();
+        establishment.setName(name);
+        establishment.setType(type);
+        return establishment;
+    }
+
+    private static List<String> names(List<EstablishmentDTO> establishments) {
+        return establishments.stream().map(EstablishmentDTO::getName).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.feedback.service;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.RatingSummaryDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class FeedbackConcurrencyIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int SUBMISSIONS = 16;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private EstablishmentRatingService establishmentRatingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Parallel duplicate submissions create exactly one feedback and conflict deterministically")
+    void testParallelDuplicateSubmissions() throws Exception {
+        String email = UUID.randomUUID() + "@example.com";
+        Long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id", Long.class, email);
+        Long establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Contended', 'RESTAURANT') RETURNING id", Long.class);
+
+        FeedbackDTO feedbackDTO = new FeedbackDTO();
+        feedbackDTO.setEstablishmentId(establishmentId);
+        feedbackDTO.setTitle("Race");
+        feedbackDTO.setScore(8);
+
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMISSIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> latencies = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        statistics.clear();
+        try {
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                latencies.add(executor.submit(() -> {
+                    SecurityContext context = SecurityContextHolder.createEmptyContext();
+                    context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                            new AuthenticatedCustomer(customerId, email), null, Collections.emptyList()));
+                    SecurityContextHolder.setContext(context);
+                    start.await();
+
+                    long begin = System.nanoTime();
+                    try {
+                        feedbackService.createFeedback(feedbackDTO);
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+            start.countDown();
+
+            long maxNanos = 0;
+            for (Future<Long> latency : latencies) {
+                maxNanos = Math.max(maxNanos, latency.get());
+            }
+            log.info("{} parallel submissions: {} statements, slowest {} ms",
+                    SUBMISSIONS, statistics.getPrepareStatementCount(), maxNanos / 1_000_000);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every loser fails with the same conflict, never a constraint violation or a lost update
+        assertEquals(SUBMISSIONS - 1, failures.size());
+        assertTrue(failures.stream().allMatch(failure -> failure instanceof IllegalStateException), failures::toString);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM feedback WHERE customer_id = ? AND establishment_id = ?",
+                Integer.class, customerId, establishmentId));
+
+        // Two round trips per submission: the insert and either the aggregate update or the establishment lookup
+        assertTrue(statistics.getPrepareStatementCount() <= 2L * SUBMISSIONS,
+                "Statements: " + statistics.getPrepareStatementCount());
+
+        RatingSummaryDTO summary = establishmentRatingService.getSummary(establishmentId);
+        assertEquals(1, summary.getCount());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.feedback.service;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.repository.FeedbackEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackEventRelayIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final Path EVENTS_FILE = createEventsFile();
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private FeedbackImportService feedbackImportService;
+
+    @Autowired
+    private FeedbackEventService feedbackEventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long customerId;
+    private Long establishmentId;
+
+    @DynamicPropertySource
+    static void eventProperties(DynamicPropertyRegistry registry) {
+        registry.add("feedback.events.file.enabled", () -> "true");
+        registry.add("feedback.events.file.path", EVENTS_FILE::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        String email = UUID.randomUUID() + "@example.com";
+        customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id", Long.class, email);
+        establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Event Test', 'RESTAURANT') RETURNING id", Long.class);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedCustomer(customerId, email), null, Collections.emptyList()));
+        SecurityContextHolder.setContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Changes from every write path reach the sinks in order and leave the outbox empty")
+    void testRelayPublishesChangesInOrder() throws Exception {
+        FeedbackDTO feedbackDTO = new FeedbackDTO();
+        feedbackDTO.setEstablishmentId(establishmentId);
+        feedbackDTO.setTitle("Evented");
+        feedbackDTO.setScore(7);
+        FeedbackResponseDTO created = feedbackService.createFeedback(feedbackDTO);
+        feedbackService.deleteFeedbackForAuthenticatedCustomer(created.getId());
+
+        Long importedCustomerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id",
+                Long.class, UUID.randomUUID() + "@example.com");
+        String record = "{\"customerId\":" + importedCustomerId + ",\"establishmentId\":" + establishmentId +
+                ",\"title\":\"Imported\",\"score\":4}";
+        feedbackImportService.importFeedback(stream(record));
+        // A rejected duplicate writes no event
+        assertEquals(0, feedbackImportService.importFeedback(stream(record)).getImported());
+
+        assertTrue(feedbackEventService.relay() >= 3);
+
+        List<JsonNode> events = Files.readAllLines(EVENTS_FILE).stream()
+                .map(this::parse)
+                .filter(event -> event.get("establishmentId").asLong() == establishmentId)
+                .toList();
+        assertEquals(List.of("CREATED", "DELETED", "CREATED"),
+                events.stream().map(event -> event.get("type").asText()).toList());
+        assertEquals(created.getId(), events.get(0).get("feedbackId").asLong());
+        assertEquals("Evented", events.get(0).get("title").asText());
+        assertEquals(customerId, events.get(1).get("customerId").asLong());
+        assertEquals(7, events.get(1).get("score").asInt());
+        assertEquals(importedCustomerId, events.get(2).get("customerId").asLong());
+        assertTrue(events.get(0).get("id").asLong() < events.get(1).get("id").asLong());
+        assertTrue(events.get(1).get("id").asLong() < events.get(2).get("id").asLong());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM feedback_event", Integer.class));
+        assertEquals(0, feedbackEventService.relay());
+    }
+
+    @Test
+    @DisplayName("Leaves the outbox alone while another relay holds the lock, so events cannot overtake each other")
+    void testRelayWaitsForOtherRelay() throws Exception {
+        FeedbackDTO feedbackDTO = new FeedbackDTO();
+        feedbackDTO.setEstablishmentId(establishmentId);
+        feedbackDTO.setTitle("Locked");
+        feedbackDTO.setScore(5);
+        feedbackService.createFeedback(feedbackDTO);
+
+        try (Connection otherRelay = dataSource.getConnection()) {
+            execute(otherRelay, "SELECT pg_advisory_lock(?)");
+            assertEquals(0, feedbackEventService.relay());
+            assertTrue(jdbcTemplate.queryForObject("SELECT count(*) FROM feedback_event", Integer.class) > 0);
+            execute(otherRelay, "SELECT pg_advisory_unlock(?)");
+        }
+
+        assertTrue(feedbackEventService.relay() >= 1);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM feedback_event", Integer.class));
+    }
+
+    private static void execute(Connection connection, String sql) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, FeedbackEventRepository.RELAY_LOCK);
+            statement.execute();
+        }
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path createEventsFile() {
+        try {
+            return Files.createTempDirectory("events").resolve("feedback-events.ndjson");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
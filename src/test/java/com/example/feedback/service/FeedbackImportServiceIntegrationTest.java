@@ -0,0 +1,116 @@
+package com.example.feedback.service;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.dto.FeedbackImportResultDTO;
+import com.example.feedback.dto.RatingSummaryDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class FeedbackImportServiceIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private FeedbackImportService feedbackImportService;
+
+    @Autowired
+    private EstablishmentRatingService establishmentRatingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should import a large load in batches and keep the rating aggregate in step")
+    void testImportThroughput() {
+        int customers = 5_000;
+        int establishments = 10;
+        List<Long> customerIds = seedCustomers(customers);
+        List<Long> establishmentIds = seedEstablishments(establishments);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (Long customerId : customerIds) {
+            for (Long establishmentId : establishmentIds) {
+                ndjson.append(record(customerId, establishmentId, 7)).append('\n');
+            }
+        }
+
+        long start = System.nanoTime();
+        FeedbackImportResultDTO result = feedbackImportService.importFeedback(stream(ndjson.toString()));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Imported {} records in {} s ({} records/s)",
+                result.getImported(), String.format("%.2f", seconds), Math.round(result.getImported() / seconds));
+
+        assertEquals((long) customers * establishments, result.getTotal());
+        assertEquals((long) customers * establishments, result.getImported());
+        assertEquals(0, result.getFailed());
+
+        RatingSummaryDTO summary = establishmentRatingService.getSummary(establishmentIds.get(0));
+        assertEquals(customers, summary.getCount());
+        assertEquals(customers, summary.getHistogram()[7]);
+    }
+
+    @Test
+    @DisplayName("Should report invalid, unknown and duplicate records per line without aborting")
+    void testPerRecordErrors() {
+        Long customerId = seedCustomers(1).get(0);
+        Long establishmentId = seedEstablishments(1).get(0);
+
+        String ndjson = String.join("\n",
+                record(customerId, establishmentId, 9),             // 1: imported
+                "{not json",                                        // 2: malformed
+                record(customerId, establishmentId, 12),            // 3: score out of range
+                record(Long.MAX_VALUE, establishmentId, 5),         // 4: unknown customer
+                record(customerId, establishmentId, 4),             // 5: duplicate within the load
+                "",
+                record(customerId, Long.MAX_VALUE, 5));             // 7: unknown establishment
+
+        FeedbackImportResultDTO result = feedbackImportService.importFeedback(stream(ndjson));
+
+        assertEquals(6, result.getTotal());
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 7L), result.getErrors().stream()
+                .map(error -> error.getLine())
+                .sorted()
+                .toList());
+
+        // Re-importing the same feedback is rejected by the unique constraint, not by a pre-check
+        FeedbackImportResultDTO again = feedbackImportService.importFeedback(stream(record(customerId, establishmentId, 9)));
+        assertEquals(0, again.getImported());
+        assertTrue(again.getErrors().get(0).getMessage().contains("already submitted"));
+    }
+
+    private List<Long> seedCustomers(int count) {
+        String tag = UUID.randomUUID().toString();
+        return jdbcTemplate.queryForList(
+                "INSERT INTO customer (email, password_hash) " +
+                        "SELECT ? || '-' || g || '@example.com', 'hash' FROM generate_series(1, ?) g RETURNING id",
+                Long.class, tag, count);
+    }
+
+    private List<Long> seedEstablishments(int count) {
+        return jdbcTemplate.queryForList(
+                "INSERT INTO establishment (name, type) " +
+                        "SELECT 'Import ' || g, 'RESTAURANT' FROM generate_series(1, ?) g RETURNING id",
+                Long.class, count);
+    }
+
+    private static String record(Long customerId, Long establishmentId, int score) {
+        return "{\"customerId\":" + customerId + ",\"establishmentId\":" + establishmentId +
+                ",\"title\":\"Imported\",\"textComment\":\"From partner\",\"score\":" + score + "}";
+    }
+
+    private static ByteArrayInputStream stream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+}
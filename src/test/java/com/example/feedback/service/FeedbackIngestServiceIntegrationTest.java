@@ -0,0 +1,149 @@
+package com.example.feedback.service;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO;
+import com.example.feedback.dto.FeedbackIngestStatusDTO.Status;
+import com.example.feedback.repository.FeedbackIngestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedbackIngestServiceIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private FeedbackIngestService feedbackIngestService;
+
+    @Autowired
+    private FeedbackIngestRepository feedbackIngestRepository;
+
+    @Autowired
+    private EstablishmentRatingService establishmentRatingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+    private Long establishmentId;
+
+    @DynamicPropertySource
+    static void ingestProperties(DynamicPropertyRegistry registry) {
+        registry.add("feedback.ingest.enabled", () -> "true");
+        // Drains only when the test asks for it
+        registry.add("feedback.ingest.drain-interval", () -> "3600000");
+        registry.add("feedback.ingest.directory", () -> {
+            try {
+                return Files.createTempDirectory("ingest").toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @BeforeEach
+    void setUp() {
+        String email = UUID.randomUUID() + "@example.com";
+        customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id", Long.class, email);
+        establishmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO establishment (name, type) VALUES ('Ingest Test', 'RESTAURANT') RETURNING id", Long.class);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedCustomer(customerId, email), null, Collections.emptyList()));
+        SecurityContextHolder.setContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Accepted feedback is pending until drained, then written with the rating aggregate")
+    void testSubmitAndDrain() {
+        FeedbackIngestStatusDTO accepted = feedbackIngestService.submit(feedback(establishmentId, 9));
+
+        assertEquals(Status.PENDING, accepted.getStatus());
+        assertEquals(Status.PENDING, feedbackIngestService.getStatus(accepted.getIngestId()).getStatus());
+        assertEquals(0, countFeedback());
+
+        feedbackIngestService.drain();
+
+        assertEquals(Status.COMPLETED, feedbackIngestService.getStatus(accepted.getIngestId()).getStatus());
+        assertEquals(1, countFeedback());
+        assertEquals(1, establishmentRatingService.getSummary(establishmentId).getCount());
+    }
+
+    @Test
+    @DisplayName("Duplicates and unknown establishments are rejected with a reason")
+    void testRejections() {
+        UUID first = feedbackIngestService.submit(feedback(establishmentId, 8)).getIngestId();
+        UUID duplicate = feedbackIngestService.submit(feedback(establishmentId, 3)).getIngestId();
+        UUID unknown = feedbackIngestService.submit(feedback(-1L, 5)).getIngestId();
+
+        feedbackIngestService.drain();
+
+        assertEquals(Status.COMPLETED, feedbackIngestService.getStatus(first).getStatus());
+        assertEquals(Status.REJECTED, feedbackIngestService.getStatus(duplicate).getStatus());
+        assertEquals("User has already submitted feedback for this establishment.",
+                feedbackIngestService.getStatus(duplicate).getError());
+        assertEquals(Status.REJECTED, feedbackIngestService.getStatus(unknown).getStatus());
+        assertEquals(1, countFeedback());
+    }
+
+    @Test
+    @DisplayName("Feedback whose outcome was already committed is skipped when the log is replayed")
+    void testReplayIsIdempotent() {
+        UUID ingestId = feedbackIngestService.submit(feedback(establishmentId, 7)).getIngestId();
+        // As if its batch had committed and the process died before the log checkpoint was written
+        feedbackIngestRepository.insertOutcomes(List.of(FeedbackIngestStatusDTO.builder()
+                .ingestId(ingestId)
+                .status(Status.COMPLETED)
+                .build()));
+
+        feedbackIngestService.drain();
+
+        assertEquals(Status.COMPLETED, feedbackIngestService.getStatus(ingestId).getStatus());
+        assertEquals(0, countFeedback());
+    }
+
+    @Test
+    @DisplayName("Unknown tracking ids are not found")
+    void testUnknownId() {
+        assertThrows(IllegalArgumentException.class, () -> feedbackIngestService.getStatus(UUID.randomUUID()));
+    }
+
+    private FeedbackDTO feedback(Long establishmentId, int score) {
+        FeedbackDTO feedbackDTO = new FeedbackDTO();
+        feedbackDTO.setEstablishmentId(establishmentId);
+        feedbackDTO.setTitle("Dinner rush");
+        feedbackDTO.setTextComment("Busy but fine");
+        feedbackDTO.setScore(score);
+        return feedbackDTO;
+    }
+
+    private int countFeedback() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM feedback WHERE customer_id = ?", Integer.class, customerId);
+    }
+}
@@ -1,12 +1,27 @@
 package com.example.feedback.service;
 
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.dto.EstablishmentDTO;
+import com.example.feedback.dto.EstablishmentFeedbackDTO;
+import com.example.feedback.dto.FeedbackBatchRequest;
+import com.example.feedback.dto.FeedbackCursor;
 import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackPageDTO;
 import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.FeedbackSearchCursor;
+import com.example.feedback.dto.FeedbackSearchRequest;
 import com.example.feedback.entity.Customer;
 import com.example.feedback.entity.Establishment;
 import com.example.feedback.entity.Feedback;
+import com.example.feedback.exception.InvalidCursorException;
+import com.example.feedback.repository.FeedbackEventRepository;
 import com.example.feedback.repository.FeedbackRepository;
+import com.example.feedback.repository.FeedbackRepository.CreatedFeedback;
 import com.example.feedback.repository.CustomerRepository;
+import com.example.feedback.repository.FeedbackSearchRepository;
+import com.example.feedback.repository.FeedbackSearchRepository.RankedFeedback;
+import com.example.feedback.repository.LatestFeedbackRepository;
+import com.example.feedback.repository.LatestFeedbackRepository.EstablishmentFeedback;
 import com.example.feedback.service.impl.FeedbackServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,17 +30,24 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class FeedbackServiceImplTest {
@@ -39,6 +61,18 @@ class FeedbackServiceImplTest {
     @Mock
     private EstablishmentService establishmentService;
 
+    @Mock
+    private EstablishmentRatingService establishmentRatingService;
+
+    @Mock
+    private FeedbackSearchRepository feedbackSearchRepository;
+
+    @Mock
+    private FeedbackEventRepository feedbackEventRepository;
+
+    @Mock
+    private LatestFeedbackRepository latestFeedbackRepository;
+
     @InjectMocks
     private FeedbackServiceImpl feedbackService;
 
@@ -52,6 +86,10 @@ class FeedbackServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
+        ReflectionTestUtils.setField(feedbackService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(feedbackService, "maxPageSize", 10);
+        ReflectionTestUtils.setField(feedbackService, "latestDefaultSize", 5);
+
         Authentication auth = new UsernamePasswordAuthenticationToken(
                 "testuser@example.com",
                 "password"
@@ -82,88 +120,281 @@ class FeedbackServiceImplTest {
         @Test
         @DisplayName("Should return list of feedbacks for valid establishment ID")
         void testFindByEstablishmentId() {
-            Feedback feedback = getFeedback();
+            FeedbackResponseDTO feedback = getFeedback();
 
-            when(feedbackRepository.findByEstablishmentId(1L))
+            when(feedbackRepository.findResponsesByEstablishmentId(1L))
                     .thenReturn(List.of(feedback));
 
             List<FeedbackResponseDTO> result = feedbackService.findByEstablishmentId(1L);
 
             assertEquals(1, result.size());
             assertEquals("Great Service", result.get(0).getTitle());
-            verify(feedbackRepository, times(1)).findByEstablishmentId(1L);
+            verify(feedbackRepository, times(1)).findResponsesByEstablishmentId(1L);
         }
 
-        private static Feedback getFeedback() {
-            Establishment establishment = new Establishment();
-            establishment.setName("Restaurant");
-
-            Customer customer = new Customer();
-            customer.setEmail("customer@example.com");
-
-            Feedback feedback = new Feedback();
-            feedback.setId(1L);
-            feedback.setTitle("Great Service");
-            feedback.setTextComment("Excellent food");
-            feedback.setScore(9);
-            feedback.setCustomer(customer);
-            feedback.setEstablishment(establishment);
-            return feedback;
+        private static FeedbackResponseDTO getFeedback() {
+            return FeedbackResponseDTO.builder()
+                    .id(1L)
+                    .title("Great Service")
+                    .textComment("Excellent food")
+                    .score(9)
+                    .customerEmail("customer@example.com")
+                    .establishmentName("Restaurant")
+                    .build();
         }
 
         @Test
         @DisplayName("Should throw exception when no feedbacks found")
         void testFindByEstablishmentIdNoFeedbacks() {
-            when(feedbackRepository.findByEstablishmentId(1L))
+            when(feedbackRepository.findResponsesByEstablishmentId(1L))
                     .thenReturn(Collections.emptyList());
 
             IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                     feedbackService.findByEstablishmentId(1L));
 
             assertEquals("No feedback found for the given establishment ID: 1", exception.getMessage());
-            verify(feedbackRepository, times(1)).findByEstablishmentId(1L);
+            verify(feedbackRepository, times(1)).findResponsesByEstablishmentId(1L);
         }
     }
 
     @Nested
-    @DisplayName("Tests for createFeedback")
-    class CreateFeedbackTests {
+    @DisplayName("Tests for findPageByEstablishmentId")
+    class FindPageByEstablishmentIdTests {
+
+        private FeedbackResponseDTO getFeedback(long id, LocalDateTime createTime) {
+            return FeedbackResponseDTO.builder()
+                    .id(id)
+                    .title("Title " + id)
+                    .score(7)
+                    .customerEmail("customer" + id + "@example.com")
+                    .establishmentName("Restaurant")
+                    .createTime(createTime)
+                    .build();
+        }
 
         @Test
-        @DisplayName("Should create feedback successfully")
-        void testCreateFeedbackSuccess() {
-            Establishment establishment = new Establishment();
-            establishment.setId(1L);
-            establishment.setName("Restaurant");
+        @DisplayName("Should return first page with a next cursor when more rows exist")
+        void testFirstPageWithNextCursor() {
+            LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+            when(feedbackRepository.findFirstPage(1L, Limit.of(3)))
+                    .thenReturn(new ArrayList<>(List.of(
+                            getFeedback(3L, now),
+                            getFeedback(2L, now.minusMinutes(1)),
+                            getFeedback(1L, now.minusMinutes(2)))));
+
+            FeedbackPageDTO page = feedbackService.findPageByEstablishmentId(1L, null, null);
+
+            assertEquals(2, page.getItems().size());
+            assertEquals(3L, page.getItems().get(0).getId());
+            assertEquals(new FeedbackCursor(now.minusMinutes(1), 2L), FeedbackCursor.decode(page.getNextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and return no cursor on the last page")
+        void testLastPage() {
+            LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+            String cursor = new FeedbackCursor(now, 2L).encode();
+            when(feedbackRepository.findPageAfter(1L, now, 2L, Limit.of(3)))
+                    .thenReturn(List.of(getFeedback(1L, now.minusMinutes(2))));
+
+            FeedbackPageDTO page = feedbackService.findPageByEstablishmentId(1L, cursor, null);
+
+            assertEquals(1, page.getItems().size());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should cap the page size at the configured maximum")
+        void testPageSizeCapped() {
+            when(feedbackRepository.findFirstPage(1L, Limit.of(11))).thenReturn(List.of());
+
+            feedbackService.findPageByEstablishmentId(1L, null, 1000);
+
+            verify(feedbackRepository, times(1)).findFirstPage(1L, Limit.of(11));
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void testInvalidCursor() {
+            assertThrows(InvalidCursorException.class, () ->
+                    feedbackService.findPageByEstablishmentId(1L, "not-a-cursor", null));
+        }
+
+        @Test
+        @DisplayName("Should stream every feedback in order")
+        void testStreamByEstablishmentId() {
+            LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+            when(feedbackRepository.streamByEstablishmentId(1L))
+                    .thenReturn(Stream.of(getFeedback(2L, now), getFeedback(1L, now.minusMinutes(1))));
+
+            List<FeedbackResponseDTO> streamed = new ArrayList<>();
+            feedbackService.streamByEstablishmentId(1L, streamed::add);
+
+            assertEquals(List.of(2L, 1L), streamed.stream().map(FeedbackResponseDTO::getId).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for findLatestByEstablishmentIds")
+    class FindLatestByEstablishmentIdsTests {
 
-            Customer customer = new Customer();
-            customer.setEmail("customer@example.com");
+        private EstablishmentFeedback getRow(long establishmentId, long feedbackId) {
+            return new EstablishmentFeedback(establishmentId, FeedbackResponseDTO.builder().id(feedbackId).build());
+        }
+
+        @Test
+        @DisplayName("Should query once and group the rows per establishment in request order")
+        void testGroupsInRequestOrder() {
+            FeedbackBatchRequest request = new FeedbackBatchRequest();
+            request.setEstablishmentIds(List.of(3L, 1L, 2L, 3L));
+            request.setSize(2);
+            when(latestFeedbackRepository.findLatest(Set.of(3L, 1L, 2L), 2))
+                    .thenReturn(List.of(getRow(1L, 11L), getRow(1L, 10L), getRow(3L, 30L)));
+
+            List<EstablishmentFeedbackDTO> latest = feedbackService.findLatestByEstablishmentIds(request);
+
+            assertEquals(List.of(3L, 1L, 2L), latest.stream().map(EstablishmentFeedbackDTO::getEstablishmentId).toList());
+            assertEquals(List.of(30L), ids(latest.get(0)));
+            assertEquals(List.of(11L, 10L), ids(latest.get(1)));
+            assertTrue(latest.get(2).getItems().isEmpty());
+            verify(latestFeedbackRepository, times(1)).findLatest(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should apply the configured size when none is requested")
+        void testDefaultSize() {
+            FeedbackBatchRequest request = new FeedbackBatchRequest();
+            request.setEstablishmentIds(List.of(1L));
+
+            feedbackService.findLatestByEstablishmentIds(request);
+
+            verify(latestFeedbackRepository).findLatest(Set.of(1L), 5);
+        }
 
-            FeedbackDTO feedbackDTO = new FeedbackDTO();
+        private List<Long> ids(EstablishmentFeedbackDTO establishmentFeedback) {
+            return establishmentFeedback.getItems().stream().map(FeedbackResponseDTO::getId).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for search")
+    class SearchTests {
+
+        private RankedFeedback getMatch(long id, float rank) {
+            return new RankedFeedback(FeedbackResponseDTO.builder().id(id).title("Title " + id).build(), rank);
+        }
+
+        @Test
+        @DisplayName("Should return the best matches with a cursor on the last one's rank and id")
+        void testFirstPageWithNextCursor() {
+            FeedbackSearchRequest request = new FeedbackSearchRequest();
+            request.setQ("pasta");
+            when(feedbackSearchRepository.search(request, null, 3))
+                    .thenReturn(new ArrayList<>(List.of(getMatch(7L, 0.9f), getMatch(3L, 0.5f), getMatch(5L, 0.5f))));
+
+            FeedbackPageDTO page = feedbackService.search(request);
+
+            assertEquals(List.of(7L, 3L), page.getItems().stream().map(FeedbackResponseDTO::getId).toList());
+            assertEquals(new FeedbackSearchCursor(0.5f, 3L), FeedbackSearchCursor.decode(page.getNextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and return no cursor on the last page")
+        void testLastPage() {
+            FeedbackSearchRequest request = new FeedbackSearchRequest();
+            request.setQ("pasta");
+            request.setCursor(new FeedbackSearchCursor(0.5f, 3L).encode());
+            request.setSize(5);
+            when(feedbackSearchRepository.search(request, new FeedbackSearchCursor(0.5f, 3L), 6))
+                    .thenReturn(List.of(getMatch(1L, 0.5f)));
+
+            FeedbackPageDTO page = feedbackService.search(request);
+
+            assertEquals(1, page.getItems().size());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void testInvalidCursor() {
+            FeedbackSearchRequest request = new FeedbackSearchRequest();
+            request.setQ("pasta");
+            request.setCursor("not-a-cursor");
+
+            assertThrows(InvalidCursorException.class, () -> feedbackService.search(request));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for createFeedback")
+    class CreateFeedbackTests {
+
+        private FeedbackDTO feedbackDTO;
+
+        @BeforeEach
+        void setUp() {
+            feedbackDTO = new FeedbackDTO();
             feedbackDTO.setEstablishmentId(1L);
             feedbackDTO.setTitle("Great Service");
             feedbackDTO.setTextComment("Excellent food");
             feedbackDTO.setScore(9);
 
-            Feedback savedFeedback = new Feedback();
-            savedFeedback.setId(1L);
-            savedFeedback.setTitle("Great Service");
-            savedFeedback.setTextComment("Excellent food");
-            savedFeedback.setScore(9);
-            savedFeedback.setCustomer(customer);
-            savedFeedback.setEstablishment(establishment);
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new AuthenticatedCustomer(5L, "customer@example.com"), null, Collections.emptyList()));
+        }
 
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getPrincipal()).thenReturn("customer@example.com");
-            when(customerRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(customer));
-            when(establishmentService.findById(1L)).thenReturn(establishment);
-            when(feedbackRepository.save(any(Feedback.class))).thenReturn(savedFeedback);
+        @Test
+        @DisplayName("Should create feedback successfully")
+        void testCreateFeedbackSuccess() {
+            LocalDateTime createTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+            CreatedFeedback created = mock(CreatedFeedback.class);
+            when(created.getId()).thenReturn(1L);
+            when(created.getCreateTime()).thenReturn(createTime);
+            when(created.getEstablishmentName()).thenReturn("Restaurant");
+            when(feedbackRepository.insertIfAbsent(5L, 1L, "Great Service", "Excellent food", 9))
+                    .thenReturn(Optional.of(created));
 
             FeedbackResponseDTO response = feedbackService.createFeedback(feedbackDTO);
 
+            assertEquals(1L, response.getId());
             assertEquals("Great Service", response.getTitle());
             assertEquals("customer@example.com", response.getCustomerEmail());
-            verify(feedbackRepository, times(1)).save(any(Feedback.class));
+            assertEquals("Restaurant", response.getEstablishmentName());
+            assertEquals(createTime, response.getCreateTime());
+            verify(establishmentRatingService, times(1)).recordScore(1L, 9);
+            verify(establishmentService, never()).findById(any());
+            verify(customerRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception if the customer already reviewed the establishment")
+        void testCreateFeedbackDuplicate() {
+            when(feedbackRepository.insertIfAbsent(5L, 1L, "Great Service", "Excellent food", 9))
+                    .thenReturn(Optional.empty());
+            when(establishmentService.findById(1L)).thenReturn(EstablishmentDTO.builder().id(1L).build());
+
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> feedbackService.createFeedback(feedbackDTO)
+            );
+
+            assertEquals("User has already submitted feedback for this establishment.", exception.getMessage());
+            verify(establishmentRatingService, never()).recordScore(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should throw exception if the establishment does not exist")
+        void testCreateFeedbackEstablishmentNotFound() {
+            when(feedbackRepository.insertIfAbsent(5L, 1L, "Great Service", "Excellent food", 9))
+                    .thenReturn(Optional.empty());
+            when(establishmentService.findById(1L))
+                    .thenThrow(new IllegalArgumentException("Establishment with ID 1 not found."));
+
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> feedbackService.createFeedback(feedbackDTO)
+            );
+
+            assertEquals("Establishment with ID 1 not found.", exception.getMessage());
+            verify(establishmentRatingService, never()).recordScore(any(), anyInt());
         }
     }
 
@@ -182,7 +413,29 @@ class FeedbackServiceImplTest {
 
             assertEquals("Feedback not found for the given feedback ID: 1",
                     exception.getMessage());
+            verify(establishmentRatingService, never()).removeScore(any(), anyInt());
+            verify(feedbackEventRepository, never()).recordDeleted(any());
+        }
+
+        @Test
+        @DisplayName("Should resolve the customer by email for tokens without a customer id claim")
+        void testDeleteFeedbackLegacyPrincipal() {
+            Establishment establishment = new Establishment();
+            establishment.setId(3L);
+
+            Feedback feedback = new Feedback();
+            feedback.setId(1L);
+            feedback.setScore(6);
+            feedback.setEstablishment(establishment);
+
+            when(feedbackRepository.findByIdAndCustomerId(1L, 99L)).thenReturn(Optional.of(feedback));
+
+            feedbackService.deleteFeedbackForAuthenticatedCustomer(1L);
 
+            verify(customerRepository, times(1)).findByEmail("testuser@example.com");
+            verify(feedbackRepository, times(1)).delete(feedback);
+            verify(establishmentRatingService, times(1)).removeScore(3L, 6);
+            verify(feedbackEventRepository, times(1)).recordDeleted(feedback);
         }
     }
 }
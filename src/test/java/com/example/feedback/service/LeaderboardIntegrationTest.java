@@ -0,0 +1,100 @@
+package com.example.feedback.service;
+
+import com.example.feedback.AbstractPostgresIntegrationTest;
+import com.example.feedback.config.AuthenticatedCustomer;
+import com.example.feedback.dto.FeedbackDTO;
+import com.example.feedback.dto.FeedbackResponseDTO;
+import com.example.feedback.dto.LeaderboardEntryDTO;
+import com.example.feedback.entity.Establishment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private EstablishmentService establishmentService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Committed feedback changes reach the leaderboard without a rebuild, and a rebuild agrees")
+    void testLeaderboardFollowsFeedback() {
+        String type = "TYPE-" + UUID.randomUUID();
+        Establishment good = establishment("Good", type);
+        Establishment better = establishment("Better", type);
+
+        authenticateNewCustomer();
+        feedbackService.createFeedback(feedback(good.getId(), 6));
+        FeedbackResponseDTO best = feedbackService.createFeedback(feedback(better.getId(), 9));
+        assertEquals(List.of("Better", "Good"), names(leaderboardService.findTop(type, 10)));
+
+        feedbackService.deleteFeedbackForAuthenticatedCustomer(best.getId());
+        assertEquals(List.of("Good"), names(leaderboardService.findTop(type, 10)));
+
+        better.setName("Renamed");
+        establishmentService.save(better);
+        authenticateNewCustomer();
+        feedbackService.createFeedback(feedback(better.getId(), 10));
+        List<LeaderboardEntryDTO> live = leaderboardService.findTop(type, 10);
+        assertEquals(List.of("Renamed", "Good"), names(live));
+
+        leaderboardService.rebuild();
+        List<LeaderboardEntryDTO> rebuilt = leaderboardService.findTop(type, 10);
+        assertEquals(names(live), names(rebuilt));
+        assertTrue(rebuilt.stream().allMatch(entry -> entry.getReviewCount() == 1));
+    }
+
+    private Establishment establishment(String name, String type) {
+        Establishment establishment = new Establishment();
+        establishment.setName(name);
+        establishment.setType(type);
+        return establishmentService.save(establishment);
+    }
+
+    private void authenticateNewCustomer() {
+        String email = UUID.randomUUID() + "@example.com";
+        Long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customer (email, password_hash) VALUES (?, 'hash') RETURNING id", Long.class, email);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedCustomer(customerId, email), null, Collections.emptyList()));
+        SecurityContextHolder.setContext(context);
+    }
+
+    private static FeedbackDTO feedback(Long establishmentId, int score) {
+        FeedbackDTO feedbackDTO = new FeedbackDTO();
+        feedbackDTO.setEstablishmentId(establishmentId);
+        feedbackDTO.setTitle("Ranked");
+        feedbackDTO.setScore(score);
+        return feedbackDTO;
+    }
+
+    private static List<String> names(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getName).toList();
+    }
+}
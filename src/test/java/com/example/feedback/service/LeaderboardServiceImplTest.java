@@ -0,0 +1,161 @@
+package com.example.feedback.service;
+
+import com.example.feedback.dto.EstablishmentDTO;
+import com.example.feedback.dto.LeaderboardEntryDTO;
+import com.example.feedback.repository.EstablishmentRatingRepository;
+import com.example.feedback.repository.EstablishmentRatingRepository.EstablishmentStanding;
+import com.example.feedback.service.impl.LeaderboardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceImplTest {
+
+    private EstablishmentRatingRepository establishmentRatingRepository;
+    private LeaderboardServiceImpl leaderboardService;
+
+    record Row(Long establishmentId, String name, String type, long reviewCount, long scoreSum)
+            implements EstablishmentStanding {
+
+        @Override
+        public Long getEstablishmentId() {
+            return establishmentId;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public long getReviewCount() {
+            return reviewCount;
+        }
+
+        @Override
+        public long getScoreSum() {
+            return scoreSum;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        establishmentRatingRepository = mock(EstablishmentRatingRepository.class);
+        // Restaurants average 900 / 110 over 110 reviews
+        when(establishmentRatingRepository.findAllStandings()).thenReturn(List.of(
+                new Row(1L, "One Perfect Review", "RESTAURANT", 1, 10),
+                new Row(2L, "Consistently Good", "RESTAURANT", 100, 850),
+                new Row(3L, "Mediocre", "RESTAURANT", 9, 40),
+                new Row(4L, "Unreviewed", "RESTAURANT", 0, 0),
+                new Row(5L, "Corner Shop", "SHOP", 2, 16)));
+        leaderboardService = new LeaderboardServiceImpl(establishmentRatingRepository, 10, 2, 3);
+    }
+
+    @Nested
+    @DisplayName("Tests for findTop")
+    class FindTopTests {
+
+        @Test
+        @DisplayName("Should rank by Bayesian average, so many good reviews beat one perfect review")
+        void testRanksByBayesianAverage() {
+            List<LeaderboardEntryDTO> top = leaderboardService.findTop("RESTAURANT", 3);
+
+            assertEquals(List.of(2L, 1L, 3L), ids(top));
+            assertEquals(List.of(1, 2, 3), top.stream().map(LeaderboardEntryDTO::getRank).toList());
+            assertEquals((10 * 900.0 / 110 + 850) / (10 + 100), top.get(0).getScore(), 1e-9);
+            assertEquals(8.5, top.get(0).getMean(), 1e-9);
+            assertEquals(10.0, top.get(1).getMean(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should apply the default size and cap the requested size")
+        void testSizeLimits() {
+            assertEquals(2, leaderboardService.findTop("RESTAURANT", null).size());
+            assertEquals(3, leaderboardService.findTop("RESTAURANT", 1000).size());
+            assertEquals(1, leaderboardService.findTop("RESTAURANT", 0).size());
+        }
+
+        @Test
+        @DisplayName("Should return an empty list for a type without reviews")
+        void testUnknownType() {
+            assertTrue(leaderboardService.findTop("HOTEL", 3).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should only read the database when rebuilding")
+        void testReadsDoNotQuery() {
+            leaderboardService.findTop("RESTAURANT", 3);
+            leaderboardService.findTop("SHOP", 3);
+
+            verify(establishmentRatingRepository, times(1)).findAllStandings();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for incremental updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move an establishment as its reviews change")
+        void testRatingChange() {
+            leaderboardService.onRatingChanged(new RatingChangedEvent(3L, 200, 2000));
+            assertEquals(List.of(3L, 2L, 1L), ids(leaderboardService.findTop("RESTAURANT", 3)));
+
+            leaderboardService.onRatingChanged(new RatingChangedEvent(3L, -200, -2000));
+            assertEquals(List.of(2L, 1L, 3L), ids(leaderboardService.findTop("RESTAURANT", 3)));
+        }
+
+        @Test
+        @DisplayName("Should add an establishment on its first review and drop it after its last")
+        void testFirstAndLastReview() {
+            leaderboardService.onRatingChanged(new RatingChangedEvent(4L, 1, 0));
+            assertEquals(List.of(2L, 1L, 4L), ids(leaderboardService.findTop("RESTAURANT", 3)));
+
+            leaderboardService.onRatingChanged(new RatingChangedEvent(5L, -2, -16));
+            assertTrue(leaderboardService.findTop("SHOP", 3).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should follow renames and type changes, and rank new establishments once reviewed")
+        void testEstablishmentChange() {
+            leaderboardService.onEstablishmentChanged(new EstablishmentChangedEvent(
+                    EstablishmentDTO.builder().id(5L).name("Corner Store").type("RESTAURANT").build()));
+            assertTrue(leaderboardService.findTop("SHOP", 3).isEmpty());
+            assertTrue(leaderboardService.findTop("RESTAURANT", 3).stream()
+                    .anyMatch(entry -> entry.getName().equals("Corner Store")));
+
+            leaderboardService.onEstablishmentChanged(new EstablishmentChangedEvent(
+                    EstablishmentDTO.builder().id(6L).name("New Hotel").type("HOTEL").build()));
+            assertTrue(leaderboardService.findTop("HOTEL", 3).isEmpty());
+            leaderboardService.onRatingChanged(new RatingChangedEvent(6L, 1, 9));
+            assertEquals(List.of(6L), ids(leaderboardService.findTop("HOTEL", 3)));
+        }
+
+        @Test
+        @DisplayName("Should ignore changes to establishments it has not seen until the next rebuild")
+        void testUnknownEstablishment() {
+            leaderboardService.onRatingChanged(new RatingChangedEvent(99L, 1, 10));
+            assertTrue(leaderboardService.findTop("RESTAURANT", 3).stream()
+                    .noneMatch(entry -> entry.getEstablishmentId() == 99L));
+        }
+    }
+
+    private static List<Long> ids(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getEstablishmentId).toList();
+    }
+}
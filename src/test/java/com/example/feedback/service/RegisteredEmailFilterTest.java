@@ -0,0 +1,96 @@
+package com.example.feedback.service;
+
+import com.example.feedback.repository.CustomerEmailRepository;
+import com.example.feedback.service.impl.RegisteredEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RegisteredEmailFilterTest {
+
+    private static final int REGISTERED = 10_000;
+
+    private CustomerEmailRepository customerEmailRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> table;
+    private RegisteredEmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        customerEmailRepository = mock(CustomerEmailRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        table = new ArrayList<>(IntStream.range(0, REGISTERED).mapToObj(i -> "registered-" + i + "@example.com").toList());
+        when(customerEmailRepository.estimateCount()).thenAnswer(invocation -> (long) table.size());
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            List.copyOf(table).forEach(consumer);
+            return null;
+        }).when(customerEmailRepository).forEachEmail(any());
+
+        filter = new RegisteredEmailFilter(customerEmailRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), REGISTERED, 0.01, 0.05, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should know every registered email and pass few new ones, close to the configured rate")
+    void testFalsePositiveRate() {
+        assertTrue(table.stream().allMatch(filter::mightContain));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("new-" + i + "@example.com"))
+                .count();
+        // Sized for twice the registered emails, so about half full
+        assertTrue(falsePositives < 1_000, falsePositives + " false positives");
+        assertTrue(gauge() < 0.01);
+        assertEquals(100_000 - falsePositives, meterRegistry.get("feedback.signup.filter.checks")
+                .tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should know emails added since the build, and keep them across a rebuild")
+    void testAddAndRebuild() {
+        assertFalse(filter.mightContain("signup@example.com"));
+        filter.add("signup@example.com");
+        assertTrue(filter.mightContain("signup@example.com"));
+
+        table.add("signup@example.com");
+        table.add("other-instance@example.com");
+        filter.rebuild();
+
+        assertTrue(filter.mightContain("signup@example.com"));
+        assertTrue(filter.mightContain("other-instance@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild early, with room for more emails, once signups saturate the filter")
+    void testRebuildIfSaturated() {
+        IntStream.range(0, 5 * REGISTERED).forEach(i -> table.add("signup-" + i + "@example.com"));
+        table.subList(REGISTERED, table.size()).forEach(filter::add);
+        assertTrue(gauge() > 0.05);
+
+        filter.rebuildIfSaturated();
+
+        assertTrue(gauge() < 0.01);
+        assertTrue(table.stream().allMatch(filter::mightContain));
+    }
+
+    private double gauge() {
+        return meterRegistry.get("feedback.signup.filter.false.positive.rate").gauge().value();
+    }
+}